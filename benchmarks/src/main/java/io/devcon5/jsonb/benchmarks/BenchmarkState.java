@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import javax.json.bind.Jsonb;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.devcon5.jsonb.Types;
+import io.devcon5.jsonb.jackson.JacksonJsonb;
+import io.devcon5.jsonb.jackson.JacksonJsonbBuilder;
+import org.eclipse.yasson.JsonBindingProvider;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared state of the benchmarks containing the payload in object and serialized form and the different binding
+ * implementations under test.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+    /**
+     * Generic type of the payload, as it would be passed to jsonb by an application
+     */
+    public static final Type ORDER_LIST = Types.listOf(Order.class);
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payload payload;
+
+    /**
+     * Jsonb provider under test
+     */
+    public JacksonJsonb jsonb;
+    /**
+     * Plain jackson mapper as baseline, configured the same way as the mapper of the provider
+     */
+    public ObjectMapper mapper;
+    /**
+     * Reference implementation for comparison
+     */
+    public Jsonb yasson;
+
+    public List<Order> orders;
+    public String json;
+    public byte[] jsonBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        this.jsonb = (JacksonJsonb) new JacksonJsonbBuilder().build();
+        this.mapper = new ObjectMapper();
+        this.mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        this.yasson = new JsonBindingProvider().create().build();
+        this.orders = payload.createOrders();
+        this.json = mapper.writeValueAsString(orders);
+        this.jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+
+        this.jsonb.close();
+        this.yasson.close();
+    }
+}
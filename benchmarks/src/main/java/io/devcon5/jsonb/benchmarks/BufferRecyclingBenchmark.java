@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import javax.json.bind.JsonbConfig;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.devcon5.jsonb.jackson.JacksonJsonb;
+import io.devcon5.jsonb.jackson.JacksonJsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trip throughput and allocation of thread-local and shared buffer recycling, when each operation runs on a
+ * long-lived platform thread or on a new virtual thread. Run with <code>-prof gc</code> and compare
+ * <code>gc.alloc.rate.norm</code> to see the allocation per operation. The virtual thread variants require Java 21
+ * or later.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferRecyclingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RecyclingState {
+
+        @Param({JacksonJsonbBuilder.BUFFER_RECYCLING_THREAD_LOCAL, JacksonJsonbBuilder.BUFFER_RECYCLING_SHARED})
+        public String recycling;
+
+        @Param({"platform", "virtual"})
+        public String threads;
+
+        @Param({"SMALL"})
+        public Payload payload;
+
+        public JacksonJsonb jsonb;
+        public ExecutorService executor;
+        public List<Order> orders;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+
+            this.jsonb = (JacksonJsonb) new JacksonJsonbBuilder()
+                    .withConfig(new JsonbConfig().setProperty(JacksonJsonbBuilder.SHARED_MAPPER, false)
+                                                 .setProperty(JacksonJsonbBuilder.BUFFER_RECYCLING, recycling))
+                    .build();
+            this.executor = "virtual".equals(threads)
+                            ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                                                               .invoke(null)
+                            : Executors.newSingleThreadExecutor();
+            this.orders = payload.createOrders();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+
+            this.executor.shutdown();
+            this.jsonb.close();
+        }
+    }
+
+    @Benchmark
+    public List<Order> roundTrip(RecyclingState state) throws ExecutionException, InterruptedException {
+
+        return state.executor.submit(() -> state.jsonb.<List<Order>>fromJson(state.jsonb.toJsonBytes(state.orders),
+                                                                             BenchmarkState.ORDER_LIST)).get();
+    }
+}
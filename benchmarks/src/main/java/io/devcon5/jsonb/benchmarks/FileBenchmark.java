@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.devcon5.jsonb.Types;
+import io.devcon5.jsonb.jackson.JacksonJsonb;
+import io.devcon5.jsonb.jackson.JacksonJsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to read and write a large JSON file through streams of the file system compared to the path based methods,
+ * which map the file into memory for reading and write through the file channel from a direct buffer. The file
+ * contains an array of orders of the given size in megabytes. Larger files require a larger heap, i.e.
+ * <code>-p megabytes=100,1000,5000 -jvmArgs -Xmx24g</code>.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileBenchmark {
+
+    /**
+     * Approximate number of orders per megabyte of JSON
+     */
+    private static final int ORDERS_PER_MEGABYTE = 40;
+
+    private static final Type ORDER_LIST = Types.listOf(Order.class);
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        @Param({"100"})
+        public int megabytes;
+
+        public JacksonJsonb jsonb;
+        public List<Order> orders;
+        public Path input;
+        public Path output;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+
+            this.jsonb = (JacksonJsonb) new JacksonJsonbBuilder().build();
+            this.orders = Collections.nCopies(megabytes * ORDERS_PER_MEGABYTE, Payload.LARGE.createOrders().get(0));
+            this.input = Files.createTempFile("benchmark", ".json");
+            this.output = Files.createTempFile("benchmark", ".json");
+            jsonb.toJson(orders, ORDER_LIST, input);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            this.jsonb.close();
+        }
+    }
+
+    @Benchmark
+    public List<Order> readStream(FileState state) throws IOException {
+
+        try (InputStream is = Files.newInputStream(state.input)) {
+            return state.jsonb.fromJson(is, ORDER_LIST);
+        }
+    }
+
+    @Benchmark
+    public List<Order> readPath(FileState state) {
+
+        return state.jsonb.fromJson(state.input, ORDER_LIST);
+    }
+
+    @Benchmark
+    public void writeStream(FileState state) throws IOException {
+
+        try (OutputStream os = Files.newOutputStream(state.output)) {
+            state.jsonb.toJson(state.orders, ORDER_LIST, os);
+        }
+    }
+
+    @Benchmark
+    public void writePath(FileState state) {
+
+        state.jsonb.toJson(state.orders, ORDER_LIST, state.output);
+    }
+}
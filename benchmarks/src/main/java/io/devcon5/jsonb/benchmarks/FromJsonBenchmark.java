@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deserialization throughput of the provider for all input flavors, compared to direct use of the
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} and to the reference implementation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FromJsonBenchmark {
+
+    private static final TypeReference<List<Order>> ORDER_LIST = new TypeReference<List<Order>>() {};
+
+    @Benchmark
+    public List<Order> jsonbString(BenchmarkState state) {
+
+        return state.jsonb.fromJson(state.json, BenchmarkState.ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> jsonbReader(BenchmarkState state) {
+
+        return state.jsonb.fromJson(new StringReader(state.json), BenchmarkState.ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> jsonbInputStream(BenchmarkState state) {
+
+        return state.jsonb.fromJson(new ByteArrayInputStream(state.jsonBytes), BenchmarkState.ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> mapperString(BenchmarkState state) throws IOException {
+
+        return state.mapper.readValue(state.json, ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> mapperReader(BenchmarkState state) throws IOException {
+
+        return state.mapper.readValue(new StringReader(state.json), ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> mapperInputStream(BenchmarkState state) throws IOException {
+
+        return state.mapper.readValue(new ByteArrayInputStream(state.jsonBytes), ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> yassonString(BenchmarkState state) {
+
+        return state.yasson.fromJson(state.json, BenchmarkState.ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> yassonReader(BenchmarkState state) {
+
+        return state.yasson.fromJson(new StringReader(state.json), BenchmarkState.ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> yassonInputStream(BenchmarkState state) {
+
+        return state.yasson.fromJson(new InputStreamReader(new ByteArrayInputStream(state.jsonBytes),
+                                                           StandardCharsets.UTF_8), BenchmarkState.ORDER_LIST);
+    }
+}
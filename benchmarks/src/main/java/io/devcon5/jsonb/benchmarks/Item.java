@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line item of an {@link Order}, used as benchmark payload.
+ */
+public class Item {
+
+    private long id;
+    private String name;
+    private double price;
+    private int quantity;
+    private List<String> tags = new ArrayList<>();
+
+    public long getId() {
+
+        return id;
+    }
+
+    public void setId(final long id) {
+
+        this.id = id;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public void setName(final String name) {
+
+        this.name = name;
+    }
+
+    public double getPrice() {
+
+        return price;
+    }
+
+    public void setPrice(final double price) {
+
+        this.price = price;
+    }
+
+    public int getQuantity() {
+
+        return quantity;
+    }
+
+    public void setQuantity(final int quantity) {
+
+        this.quantity = quantity;
+    }
+
+    public List<String> getTags() {
+
+        return tags;
+    }
+
+    public void setTags(final List<String> tags) {
+
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import javax.json.JsonArray;
+import javax.json.JsonReader;
+import javax.json.JsonWriter;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import io.devcon5.jsonp.jackson.JacksonJsonProvider;
+import org.glassfish.json.JsonProviderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the Jackson based JSON-P provider compared to the reference implementation for streaming parsing,
+ * reading a document into a structure and writing a structure. Binding a structure with the Jsonb provider is
+ * included to show the cost of the conversion between JSON-P and Jackson values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonpBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class JsonpState {
+
+        @Param({"jackson", "glassfish"})
+        public String provider;
+
+        public JsonProvider jsonp;
+        public JsonArray structure;
+
+        @Setup
+        public void setUp(BenchmarkState state) {
+
+            this.jsonp = "jackson".equals(provider) ? new JacksonJsonProvider() : new JsonProviderImpl();
+            try (JsonReader reader = jsonp.createReader(new StringReader(state.json))) {
+                this.structure = reader.readArray();
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseEvents(BenchmarkState state, JsonpState jsonp, Blackhole blackhole) {
+
+        try (JsonParser parser = jsonp.jsonp.createParser(new StringReader(state.json))) {
+            while (parser.hasNext()) {
+                final JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.KEY_NAME || event == JsonParser.Event.VALUE_STRING) {
+                    blackhole.consume(parser.getString());
+                } else {
+                    blackhole.consume(event);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public JsonArray readStructure(BenchmarkState state, JsonpState jsonp) {
+
+        try (JsonReader reader = jsonp.jsonp.createReader(new StringReader(state.json))) {
+            return reader.readArray();
+        }
+    }
+
+    @Benchmark
+    public String writeStructure(JsonpState jsonp) {
+
+        final StringWriter out = new StringWriter();
+        try (JsonWriter writer = jsonp.jsonp.createWriter(out)) {
+            writer.writeArray(jsonp.structure);
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public JsonArray jsonbReadStructure(BenchmarkState state) {
+
+        return state.jsonb.fromJson(state.json, JsonArray.class);
+    }
+
+    @Benchmark
+    public String jsonbWriteStructure(JsonpState jsonp, BenchmarkState state) {
+
+        return state.jsonb.toJson(jsonp.structure);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.devcon5.jsonb.jackson.JacksonJsonb;
+import io.devcon5.jsonb.jackson.JacksonJsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Latency of reading a few properties of a single order, which is bound completely by <code>fromJson</code> or
+ * represented by a lazily bound view. The items of the order are only bound by the eager and the <code>lazyAll</code>
+ * variants. Run with <code>-prof gc</code> and compare <code>gc.alloc.rate.norm</code> to see the allocation per
+ * operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyBenchmark {
+
+    /**
+     * View of an {@link Order}
+     */
+    public interface OrderView {
+
+        String getId();
+
+        String getCustomer();
+
+        boolean isExpress();
+
+        List<Item> getItems();
+
+        Map<String, String> getAttributes();
+    }
+
+    @State(Scope.Benchmark)
+    public static class LazyState {
+
+        @Param({"MEDIUM", "LARGE"})
+        public Payload payload;
+
+        public JacksonJsonb jsonb;
+        public byte[] json;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+
+            this.jsonb = (JacksonJsonb) new JacksonJsonbBuilder().build();
+            this.json = jsonb.toJsonBytes(payload.createOrders().get(0));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+
+            this.jsonb.close();
+        }
+    }
+
+    @Benchmark
+    public void eager(LazyState state, Blackhole blackhole) {
+
+        final Order order = state.jsonb.fromJson(state.json, Order.class);
+        blackhole.consume(order.getId());
+        blackhole.consume(order.getCustomer());
+        blackhole.consume(order.isExpress());
+    }
+
+    @Benchmark
+    public void lazy(LazyState state, Blackhole blackhole) {
+
+        final OrderView order = state.jsonb.fromJsonLazy(state.json, OrderView.class);
+        blackhole.consume(order.getId());
+        blackhole.consume(order.getCustomer());
+        blackhole.consume(order.isExpress());
+    }
+
+    @Benchmark
+    public void lazyAll(LazyState state, Blackhole blackhole) {
+
+        final OrderView order = state.jsonb.fromJsonLazy(state.json, OrderView.class);
+        blackhole.consume(order.getId());
+        blackhole.consume(order.getCustomer());
+        blackhole.consume(order.isExpress());
+        blackhole.consume(order.getItems());
+        blackhole.consume(order.getAttributes());
+    }
+}
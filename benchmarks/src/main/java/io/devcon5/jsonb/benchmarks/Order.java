@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order with a variable number of items, used as benchmark payload.
+ */
+public class Order {
+
+    private String id;
+    private String customer;
+    private boolean express;
+    private List<Item> items = new ArrayList<>();
+    private Map<String, String> attributes = new HashMap<>();
+
+    public String getId() {
+
+        return id;
+    }
+
+    public void setId(final String id) {
+
+        this.id = id;
+    }
+
+    public String getCustomer() {
+
+        return customer;
+    }
+
+    public void setCustomer(final String customer) {
+
+        this.customer = customer;
+    }
+
+    public boolean isExpress() {
+
+        return express;
+    }
+
+    public void setExpress(final boolean express) {
+
+        this.express = express;
+    }
+
+    public List<Item> getItems() {
+
+        return items;
+    }
+
+    public void setItems(final List<Item> items) {
+
+        this.items = items;
+    }
+
+    public Map<String, String> getAttributes() {
+
+        return attributes;
+    }
+
+    public void setAttributes(final Map<String, String> attributes) {
+
+        this.attributes = attributes;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import io.devcon5.jsonb.jackson.JacksonJsonb;
+import io.devcon5.jsonb.jackson.JacksonJsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to bind a large top-level array sequentially and in parallel with a growing number of threads, to show how
+ * parallel binding scales with the number of cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelFromJsonBenchmark {
+
+    /**
+     * Number of copies of the large payload in the array
+     */
+    private static final int COPIES = 10;
+
+    @State(Scope.Benchmark)
+    public static class ParallelState {
+
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        public JacksonJsonb jsonb;
+        public ForkJoinPool pool;
+        public byte[] json;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+
+            this.jsonb = (JacksonJsonb) new JacksonJsonbBuilder().build();
+            this.pool = new ForkJoinPool(threads);
+            final List<Order> orders = Payload.LARGE.createOrders();
+            for (int i = 1; i < COPIES; i++) {
+                orders.addAll(Payload.LARGE.createOrders());
+            }
+            this.json = jsonb.toJsonBytes(orders);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+
+            this.pool.shutdown();
+            this.jsonb.close();
+        }
+    }
+
+    @Benchmark
+    public List<Order> sequential(ParallelState state) {
+
+        return state.jsonb.fromJson(new ByteArrayInputStream(state.json), BenchmarkState.ORDER_LIST);
+    }
+
+    @Benchmark
+    public List<Order> parallelBytes(ParallelState state) {
+
+        return state.jsonb.fromJsonParallel(state.json, Order.class, state.pool);
+    }
+
+    @Benchmark
+    public List<Order> parallelInputStream(ParallelState state) {
+
+        return state.jsonb.fromJsonParallel(new ByteArrayInputStream(state.json), Order.class, state.pool);
+    }
+}
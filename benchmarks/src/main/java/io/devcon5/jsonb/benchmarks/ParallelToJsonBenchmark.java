@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import io.devcon5.jsonb.jackson.JacksonJsonb;
+import io.devcon5.jsonb.jackson.JacksonJsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to serialize a large list sequentially and in parallel with a growing number of threads, to show how
+ * parallel serialization scales with the number of cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelToJsonBenchmark {
+
+    /**
+     * Number of copies of the large payload in the list
+     */
+    private static final int COPIES = 10;
+
+    @State(Scope.Benchmark)
+    public static class ParallelState {
+
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        public JacksonJsonb jsonb;
+        public ForkJoinPool pool;
+        public List<Order> orders;
+        public int size;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+
+            this.jsonb = (JacksonJsonb) new JacksonJsonbBuilder().build();
+            this.pool = new ForkJoinPool(threads);
+            this.orders = Payload.LARGE.createOrders();
+            for (int i = 1; i < COPIES; i++) {
+                orders.addAll(Payload.LARGE.createOrders());
+            }
+            this.size = jsonb.toJsonBytes(orders).length;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+
+            this.pool.shutdown();
+            this.jsonb.close();
+        }
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream sequential(ParallelState state) {
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream(state.size);
+        state.jsonb.toJson(state.orders, BenchmarkState.ORDER_LIST, os);
+        return os;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream parallel(ParallelState state) {
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream(state.size);
+        state.jsonb.toJsonParallel(state.orders, Order.class, os, state.pool);
+        return os;
+    }
+}
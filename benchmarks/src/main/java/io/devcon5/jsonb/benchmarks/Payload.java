@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Payload sizes used by the benchmarks. Each size defines the number of orders in a list and the number of items
+ * per order.
+ */
+public enum Payload {
+
+    /**
+     * A single order with a few items, roughly 0.5 KB of JSON
+     */
+    SMALL(1, 3),
+    /**
+     * Some orders with a moderate number of items, roughly 50 KB of JSON
+     */
+    MEDIUM(10, 40),
+    /**
+     * Many orders with many items, roughly 5 MB of JSON
+     */
+    LARGE(200, 200);
+
+    private final int orders;
+    private final int itemsPerOrder;
+
+    Payload(final int orders, final int itemsPerOrder) {
+
+        this.orders = orders;
+        this.itemsPerOrder = itemsPerOrder;
+    }
+
+    /**
+     * Creates the list of orders of this payload. The content is deterministic so that results are comparable
+     * between runs.
+     *
+     * @return a new list of orders
+     */
+    public List<Order> createOrders() {
+
+        final List<Order> result = new ArrayList<>(orders);
+        for (int o = 0; o < orders; o++) {
+            final Order order = new Order();
+            order.setId("order-" + o);
+            order.setCustomer("customer-" + (o % 17));
+            order.setExpress(o % 3 == 0);
+            order.getAttributes().put("channel", o % 2 == 0 ? "web" : "mobile");
+            order.getAttributes().put("currency", "CHF");
+            for (int i = 0; i < itemsPerOrder; i++) {
+                final Item item = new Item();
+                item.setId(o * 1000L + i);
+                item.setName("Item \"" + i + "\" of order " + o);
+                item.setPrice(i * 1.25 + o);
+                item.setQuantity(1 + i % 5);
+                item.setTags(Arrays.asList("tag-" + i % 7, "tag-" + i % 11));
+                order.getItems().add(item);
+            }
+            result.add(order);
+        }
+        return result;
+    }
+}
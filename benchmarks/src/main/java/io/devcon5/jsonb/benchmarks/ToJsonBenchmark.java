@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization throughput of the provider for all output flavors, compared to direct use of the
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} and to the reference implementation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToJsonBenchmark {
+
+    @Benchmark
+    public String jsonbString(BenchmarkState state) {
+
+        return state.jsonb.toJson(state.orders);
+    }
+
+    @Benchmark
+    public String jsonbStringWithType(BenchmarkState state) {
+
+        return state.jsonb.toJson(state.orders, BenchmarkState.ORDER_LIST);
+    }
+
+    @Benchmark
+    public StringWriter jsonbWriter(BenchmarkState state) {
+
+        final StringWriter writer = new StringWriter();
+        state.jsonb.toJson(state.orders, writer);
+        return writer;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream jsonbOutputStream(BenchmarkState state) {
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        state.jsonb.toJson(state.orders, os);
+        return os;
+    }
+
+    @Benchmark
+    public String mapperString(BenchmarkState state) throws IOException {
+
+        return state.mapper.writeValueAsString(state.orders);
+    }
+
+    @Benchmark
+    public StringWriter mapperWriter(BenchmarkState state) throws IOException {
+
+        final StringWriter writer = new StringWriter();
+        state.mapper.writeValue(writer, state.orders);
+        return writer;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream mapperOutputStream(BenchmarkState state) throws IOException {
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        state.mapper.writeValue(os, state.orders);
+        return os;
+    }
+
+    @Benchmark
+    public String yassonString(BenchmarkState state) {
+
+        return state.yasson.toJson(state.orders);
+    }
+
+    @Benchmark
+    public StringWriter yassonWriter(BenchmarkState state) {
+
+        final StringWriter writer = new StringWriter();
+        state.yasson.toJson(state.orders, writer);
+        return writer;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream yassonOutputStream(BenchmarkState state) {
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        state.yasson.toJson(state.orders, os);
+        return os;
+    }
+}
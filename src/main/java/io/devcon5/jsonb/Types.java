@@ -16,13 +16,19 @@
 
 package io.devcon5.jsonb;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class with factory methods to create type handles that simplify JSON deserialization with jsonb.
@@ -37,6 +43,21 @@ import java.util.Set;
  */
 public final class Types {
 
+    /**
+     * Interned types, which are held weakly, so that types and the classes they refer to can be garbage collected
+     * once they are no longer used by the application. Entries of collected types are removed on the next miss.
+     */
+    private static final ConcurrentMap<ParameterizedType, Interned> INTERNED = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ParameterizedType> RELEASED = new ReferenceQueue<>();
+
+    /**
+     * Interned types with a single class argument, which are associated with the class of the argument, so that the
+     * factory methods for them look up the type without locking or allocating
+     */
+    private static final ClassValue<ParameterizedType> LISTS = interning(List.class);
+    private static final ClassValue<ParameterizedType> SETS = interning(Set.class);
+    private static final ClassValue<ParameterizedType> OPTIONALS = interning(Optional.class);
+
     private Types() {
 
     }
@@ -47,11 +68,14 @@ public final class Types {
      * @param genericType
      *         the type of the entries of the list
      *
-     * @return a new instance of {@link ParameterizedType}
+     * @return the canonical instance of {@link ParameterizedType}
      */
     public static ParameterizedType listOf(Type genericType) {
 
-        return new ParameterizedTypeImpl(List.class, genericType);
+        if (genericType instanceof Class) {
+            return LISTS.get((Class<?>) genericType);
+        }
+        return intern(List.class, new Type[]{genericType}, null);
     }
 
     /**
@@ -60,11 +84,14 @@ public final class Types {
      * @param genericType
      *         the type of teh entries in the set
      *
-     * @return a new instance of {@link ParameterizedType}
+     * @return the canonical instance of {@link ParameterizedType}
      */
     public static ParameterizedType setOf(Type genericType) {
 
-        return new ParameterizedTypeImpl(Set.class, genericType);
+        if (genericType instanceof Class) {
+            return SETS.get((Class<?>) genericType);
+        }
+        return intern(Set.class, new Type[]{genericType}, null);
     }
 
     /**
@@ -75,11 +102,11 @@ public final class Types {
      * @param valueType
      *         the type of the values of the map
      *
-     * @return a new instance of {@link ParameterizedType}
+     * @return the canonical instance of {@link ParameterizedType}
      */
     public static ParameterizedType mapOf(Type keyType, Type valueType) {
 
-        return new ParameterizedTypeImpl(Map.class, keyType, valueType);
+        return intern(Map.class, new Type[]{keyType, valueType}, null);
     }
 
     /**
@@ -88,11 +115,14 @@ public final class Types {
      * @param genericType
      *         the type of teh entries in the set
      *
-     * @return a new instance of {@link ParameterizedType}
+     * @return the canonical instance of {@link ParameterizedType}
      */
     public static ParameterizedType optionalOf(Type genericType) {
 
-        return new ParameterizedTypeImpl(Optional.class, genericType);
+        if (genericType instanceof Class) {
+            return OPTIONALS.get((Class<?>) genericType);
+        }
+        return intern(Optional.class, new Type[]{genericType}, null);
     }
 
     /**
@@ -103,11 +133,11 @@ public final class Types {
      * @param typeParameters
      *         the generic type parameters
      *
-     * @return a new instance of {@link ParameterizedType}
+     * @return the canonical instance of {@link ParameterizedType}
      */
     public static ParameterizedType of(Class<?> rawType, Type... typeParameters) {
 
-        return new ParameterizedTypeImpl(rawType, typeParameters);
+        return intern(rawType, typeParameters, null);
     }
 
     /**
@@ -120,15 +150,107 @@ public final class Types {
      * @param typeParameters
      *         the generic type parameters
      *
-     * @return a new instance of {@link ParameterizedType}
+     * @return the canonical instance of {@link ParameterizedType}
      */
     public static ParameterizedType ofOwnerType(Type ownerType, Class<?> rawType, Type... typeParameters) {
 
-        return new ParameterizedTypeImpl(rawType, typeParameters, ownerType);
+        return intern(rawType, typeParameters, ownerType);
     }
 
     /**
+     * Returns the canonical instance for the given type definition. Equal definitions are resolved to the same
+     * instance, so that repeated invocations of the factory methods don't create new type handles and can be used
+     * as efficient keys in type-based caches. Interned instances are only retained as long as they are referenced
+     * elsewhere, or for the types of the single argument factories, as long as the class of the argument is loaded.
+     * Lookups don't lock, and the type arguments are only copied when a new type is interned.
+     *
+     * @param rawType
+     *         the base type
+     * @param typeArgs
+     *         the generic type parameters
+     * @param ownerType
+     *         the type that owns the rawtype or <code>null</code> to use the declaring class of the rawtype
      *
+     * @return the interned instance of the type definition
+     */
+    private static ParameterizedType intern(final Class<?> rawType, final Type[] typeArgs, final Type ownerType) {
+
+        final Type owner = ownerType != null ? ownerType : rawType.getDeclaringClass();
+        final Interned found = INTERNED.get(new ParameterizedTypeImpl(rawType, typeArgs, owner));
+        final ParameterizedType interned = found != null ? found.get() : null;
+        if (interned != null) {
+            return interned;
+        }
+        expungeReleased();
+        final Type[] args = typeArgs.clone();
+        final ParameterizedType key = new ParameterizedTypeImpl(rawType, args, owner);
+        final ParameterizedType type = new ParameterizedTypeImpl(rawType, args, owner);
+        final Interned created = new Interned(key, type);
+        while (true) {
+            final Interned existing = INTERNED.putIfAbsent(key, created);
+            if (existing == null) {
+                return type;
+            }
+            final ParameterizedType other = existing.get();
+            if (other != null) {
+                return other;
+            }
+            if (INTERNED.replace(key, existing, created)) {
+                return type;
+            }
+        }
+    }
+
+    /**
+     * Removes the entries of interned types that have been garbage collected.
+     */
+    private static void expungeReleased() {
+
+        Interned released;
+        while ((released = (Interned) RELEASED.poll()) != null) {
+            INTERNED.remove(released.key, released);
+        }
+    }
+
+    /**
+     * Creates a class value that holds the interned type of the raw type with the class as single type argument.
+     *
+     * @param rawType
+     *         the base type
+     *
+     * @return the class value of the interned types
+     */
+    private static ClassValue<ParameterizedType> interning(final Class<?> rawType) {
+
+        return new ClassValue<ParameterizedType>() {
+
+            @Override
+            protected ParameterizedType computeValue(final Class<?> typeArg) {
+
+                return intern(rawType, new Type[]{typeArg}, null);
+            }
+        };
+    }
+
+    /**
+     * Weak reference to an interned type, which holds the key of its entry so that the entry can be removed once the
+     * type has been garbage collected. The key is a separate but equal instance, as the entry would otherwise
+     * retain the type.
+     */
+    private static final class Interned extends WeakReference<ParameterizedType> {
+
+        private final ParameterizedType key;
+
+        Interned(final ParameterizedType key, final ParameterizedType type) {
+
+            super(type, RELEASED);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Implementation of a {@link ParameterizedType} that is equal to and has the same hashcode as the
+     * {@link ParameterizedType} implementation of the JDK for the same type definition.
      */
     static class ParameterizedTypeImpl implements ParameterizedType {
 
@@ -143,15 +265,10 @@ public final class Types {
             this.typeArgs = typeArgs;
         }
 
-        ParameterizedTypeImpl(final Type rawType, final Type... typeArgs) {
-
-            this(rawType, typeArgs, null);
-        }
-
         @Override
         public Type[] getActualTypeArguments() {
 
-            return typeArgs;
+            return typeArgs.clone();
         }
 
         @Override
@@ -172,28 +289,46 @@ public final class Types {
             if (this == o) {
                 return true;
             }
-            if (o == null || getClass() != o.getClass()) {
+            if (!(o instanceof ParameterizedType)) {
                 return false;
             }
-
-            final ParameterizedTypeImpl that = (ParameterizedTypeImpl) o;
-
-            if (rawType != null ? !rawType.equals(that.rawType) : that.rawType != null) {
-                return false;
+            final ParameterizedType that = (ParameterizedType) o;
+            if (o instanceof ParameterizedTypeImpl) {
+                //avoid the defensive copy of the type arguments
+                return Objects.equals(rawType, that.getRawType())
+                        && Objects.equals(ownerType, that.getOwnerType())
+                        && Arrays.equals(typeArgs, ((ParameterizedTypeImpl) o).typeArgs);
             }
-            if (!Arrays.equals(typeArgs, that.typeArgs)) {
-                return false;
-            }
-            return ownerType != null ? ownerType.equals(that.ownerType) : that.ownerType == null;
+            return Objects.equals(rawType, that.getRawType())
+                    && Objects.equals(ownerType, that.getOwnerType())
+                    && Arrays.equals(typeArgs, that.getActualTypeArguments());
         }
 
         @Override
         public int hashCode() {
 
-            int result = rawType != null ? rawType.hashCode() : 0;
-            result = 31 * result + (typeArgs != null ? typeArgs.hashCode() : 0);
-            result = 31 * result + (ownerType != null ? ownerType.hashCode() : 0);
-            return result;
+            //same as the JDK implementation of ParameterizedType
+            return Arrays.hashCode(typeArgs) ^ Objects.hashCode(ownerType) ^ Objects.hashCode(rawType);
+        }
+
+        @Override
+        public String toString() {
+
+            final StringBuilder buf = new StringBuilder();
+            if (ownerType != null) {
+                buf.append(ownerType.getTypeName()).append('$');
+                buf.append(rawType instanceof Class ? ((Class<?>) rawType).getSimpleName() : rawType.getTypeName());
+            } else {
+                buf.append(rawType.getTypeName());
+            }
+            if (typeArgs != null && typeArgs.length > 0) {
+                final StringJoiner args = new StringJoiner(", ", "<", ">");
+                for (Type arg : typeArgs) {
+                    args.add(arg.getTypeName());
+                }
+                buf.append(args);
+            }
+            return buf.toString();
         }
     }
 
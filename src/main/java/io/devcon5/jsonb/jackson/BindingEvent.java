@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import java.lang.reflect.Type;
+
+/**
+ * Describes a single completed binding operation of a {@link JacksonJsonb} instance.
+ *
+ * @see JsonbInstrumentation
+ */
+public final class BindingEvent {
+
+    /**
+     * The direction of a binding operation
+     */
+    public enum Operation {
+        /**
+         * JSON was read into an object (<code>fromJson</code>)
+         */
+        DESERIALIZE,
+        /**
+         * An object was written as JSON (<code>toJson</code>)
+         */
+        SERIALIZE
+    }
+
+    /**
+     * The kind of input or output of a binding operation
+     */
+    public enum Flavor {
+        STRING,
+        READER,
+        WRITER,
+        INPUT_STREAM,
+        OUTPUT_STREAM,
+        BYTE_ARRAY,
+        BYTE_BUFFER,
+        FILE
+    }
+
+    private final Operation operation;
+    private final Type type;
+    private final Flavor flavor;
+    private final long size;
+    private final long durationNanos;
+    private final Throwable failure;
+
+    BindingEvent(final Operation operation,
+                 final Type type,
+                 final Flavor flavor,
+                 final long size,
+                 final long durationNanos,
+                 final Throwable failure) {
+
+        this.operation = operation;
+        this.type = type;
+        this.flavor = flavor;
+        this.size = size;
+        this.durationNanos = durationNanos;
+        this.failure = failure;
+    }
+
+    /**
+     * @return whether JSON was read or written
+     */
+    public Operation getOperation() {
+
+        return operation;
+    }
+
+    /**
+     * @return the type that was requested or written. For serialization without an explicit type, this is the class
+     * of the object, or <code>null</code> if a <code>null</code> value was written
+     */
+    public Type getType() {
+
+        return type;
+    }
+
+    /**
+     * @return the kind of input or output
+     */
+    public Flavor getFlavor() {
+
+        return flavor;
+    }
+
+    /**
+     * @return the number of bytes, or characters for the {@link Flavor#STRING}, {@link Flavor#READER} and
+     * {@link Flavor#WRITER} flavors, that were read or written. Input that was not consumed by the parser is not
+     * counted
+     */
+    public long getSize() {
+
+        return size;
+    }
+
+    /**
+     * @return the duration of the operation in nanoseconds
+     */
+    public long getDurationNanos() {
+
+        return durationNanos;
+    }
+
+    /**
+     * @return the exception the operation failed with or <code>null</code> if it was successful
+     */
+    public Throwable getFailure() {
+
+        return failure;
+    }
+
+    /**
+     * @return <code>true</code> if the operation failed
+     */
+    public boolean isFailed() {
+
+        return failure != null;
+    }
+
+    @Override
+    public String toString() {
+
+        return "BindingEvent{" + operation + " " + (type != null ? type.getTypeName() : null) + " " + flavor
+                + ", size=" + size + ", durationNanos=" + durationNanos + (failure != null ? ", failed" : "") + '}';
+    }
+}
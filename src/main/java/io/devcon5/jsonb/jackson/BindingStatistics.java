@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation that collects counters and latency histograms per type and operation. All counters are
+ * {@link LongAdder}s, so recording is lock-free and scales with the number of concurrent threads.
+ * <br>
+ * Example:
+ * <pre><code>
+ *     BindingStatistics statistics = new BindingStatistics();
+ *     Jsonb jsonb = JsonbBuilder.create(new JsonbConfig().setProperty(JacksonJsonbBuilder.INSTRUMENTATION,
+ *                                                                     statistics));
+ *     ...
+ *     statistics.getCounters(MyObject.class, BindingEvent.Operation.DESERIALIZE).getPercentile(0.99);
+ * </code></pre>
+ */
+public class BindingStatistics implements JsonbInstrumentation {
+
+    private static final Counters NONE = new Counters();
+
+    private final ConcurrentMap<Type, Counters[]> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void onEvent(final BindingEvent event) {
+
+        final Type type = event.getType() != null ? event.getType() : Object.class;
+        Counters[] typeCounters = counters.get(type);
+        if (typeCounters == null) {
+            typeCounters = counters.computeIfAbsent(type, t -> new Counters[]{new Counters(), new Counters()});
+        }
+        typeCounters[event.getOperation().ordinal()].record(event);
+    }
+
+    /**
+     * @return the types for which operations have been recorded. Serialization of <code>null</code> values is
+     * recorded for {@link Object}
+     */
+    public Set<Type> getTypes() {
+
+        return Collections.unmodifiableSet(counters.keySet());
+    }
+
+    /**
+     * Provides the counters of an operation for a type.
+     *
+     * @param type
+     *         the type that was read or written
+     * @param operation
+     *         the operation
+     *
+     * @return the counters for the type and operation. If no operation was recorded for the type, all counters are
+     * zero
+     */
+    public Counters getCounters(final Type type, final BindingEvent.Operation operation) {
+
+        final Counters[] typeCounters = counters.get(type);
+        return typeCounters != null ? typeCounters[operation.ordinal()] : NONE;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+
+        counters.clear();
+    }
+
+    /**
+     * Counters and latency histogram for a single type and operation. The histogram uses buckets of power-of-two
+     * nanoseconds, so percentiles are accurate within a factor of two.
+     */
+    public static final class Counters {
+
+        private static final int BUCKETS = 64;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder size = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        Counters() {
+
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void record(final BindingEvent event) {
+
+            count.increment();
+            if (event.isFailed()) {
+                failures.increment();
+            }
+            if (event.getSize() > 0) {
+                size.add(event.getSize());
+            }
+            final long duration = Math.max(0, event.getDurationNanos());
+            nanos.add(duration);
+            //bucket i contains durations in [2^(i-1), 2^i), bucket 0 contains zero durations
+            histogram[BUCKETS - Long.numberOfLeadingZeros(duration)].increment();
+        }
+
+        /**
+         * @return the number of operations
+         */
+        public long getCount() {
+
+            return count.sum();
+        }
+
+        /**
+         * @return the number of failed operations
+         */
+        public long getFailures() {
+
+            return failures.sum();
+        }
+
+        /**
+         * @return the total number of bytes, or characters for character based operations, read or written
+         */
+        public long getSize() {
+
+            return size.sum();
+        }
+
+        /**
+         * @return the accumulated duration of all operations
+         */
+        public Duration getTotalTime() {
+
+            return Duration.ofNanos(nanos.sum());
+        }
+
+        /**
+         * @return the mean duration of an operation
+         */
+        public Duration getMeanTime() {
+
+            final long n = count.sum();
+            return n == 0 ? Duration.ZERO : Duration.ofNanos(nanos.sum() / n);
+        }
+
+        /**
+         * Estimates a percentile of the operation duration.
+         *
+         * @param percentile
+         *         the percentile between 0 and 1, i.e. 0.99 for the 99th percentile
+         *
+         * @return the upper bound of the histogram bucket containing the percentile
+         */
+        public Duration getPercentile(final double percentile) {
+
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 1");
+            }
+            final long[] buckets = getHistogram();
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return Duration.ZERO;
+            }
+            final long threshold = (long) Math.ceil(percentile * total);
+            long cumulated = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulated += buckets[i];
+                if (cumulated >= threshold && buckets[i] > 0) {
+                    return Duration.ofNanos(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                }
+            }
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+
+        /**
+         * @return a snapshot of the latency histogram. The entry at index <code>i</code> contains the number of
+         * operations that took at least <code>2^(i-1)</code> and less than <code>2^i</code> nanoseconds
+         */
+        public long[] getHistogram() {
+
+            final long[] result = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                result[i] = histogram[i].sum();
+            }
+            return result;
+        }
+    }
+}
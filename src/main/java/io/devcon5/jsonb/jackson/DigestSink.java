@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * Computes a digest of serialized output incrementally while it is written, i.e. to produce an ETag without
+ * buffering the output. The digest is computed either by a {@link MessageDigest}, such as SHA-256, or by a
+ * {@link Checksum}, such as CRC32, CRC32C (Java 9+) or a checksum view of a non-cryptographic hash like xxHash.
+ * <br>
+ * A sink is used for a single serialization and is not thread-safe. The digest is only stable across property
+ * declaration and map iteration orders if the output is written with canonical ordering, which is overridden by
+ * {@link com.fasterxml.jackson.annotation.JsonPropertyOrder} on a type.
+ * <br>
+ * Example:
+ * <pre><code>
+ *     byte[] digest = jsonb.toJson(obj, outputStream, DigestSink.sha256());
+ *     String etag = DigestSink.toETag(digest);
+ * </code></pre>
+ */
+public final class DigestSink {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest messageDigest;
+    private final Checksum checksum;
+    private byte[] digest;
+
+    private DigestSink(final MessageDigest messageDigest, final Checksum checksum) {
+
+        this.messageDigest = messageDigest;
+        this.checksum = checksum;
+    }
+
+    /**
+     * @return a sink computing the SHA-256 digest
+     */
+    public static DigestSink sha256() {
+
+        return of("SHA-256");
+    }
+
+    /**
+     * @return a sink computing the CRC32 checksum
+     */
+    public static DigestSink crc32() {
+
+        return of(new CRC32());
+    }
+
+    /**
+     * Creates a sink for a message digest algorithm.
+     *
+     * @param algorithm
+     *         the name of the algorithm, i.e. <code>SHA-256</code> or <code>MD5</code>
+     *
+     * @return a sink computing the digest of the algorithm
+     *
+     * @throws IllegalArgumentException
+     *         if the algorithm is not available
+     */
+    public static DigestSink of(final String algorithm) {
+
+        try {
+            return of(MessageDigest.getInstance(algorithm));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported digest algorithm " + algorithm, e);
+        }
+    }
+
+    /**
+     * @param messageDigest
+     *         the message digest to update, which must be in its initial state
+     *
+     * @return a sink computing the digest of the message digest
+     */
+    public static DigestSink of(final MessageDigest messageDigest) {
+
+        return new DigestSink(messageDigest, null);
+    }
+
+    /**
+     * @param checksum
+     *         the checksum to update, which must be in its initial state
+     *
+     * @return a sink computing the checksum. The digest is the 8 byte big-endian value of the checksum
+     */
+    public static DigestSink of(final Checksum checksum) {
+
+        return new DigestSink(null, checksum);
+    }
+
+    /**
+     * Formats a digest as strong ETag, which is the quoted hexadecimal representation of the digest.
+     *
+     * @param digest
+     *         the digest to format
+     *
+     * @return the ETag of the digest
+     */
+    public static String toETag(final byte[] digest) {
+
+        final char[] etag = new char[digest.length * 2 + 2];
+        etag[0] = '"';
+        for (int i = 0; i < digest.length; i++) {
+            etag[2 * i + 1] = HEX[(digest[i] >> 4) & 0xF];
+            etag[2 * i + 2] = HEX[digest[i] & 0xF];
+        }
+        etag[etag.length - 1] = '"';
+        return new String(etag);
+    }
+
+    /**
+     * @return the digest of all bytes written so far. Once the digest is retrieved, no more bytes are accepted
+     */
+    public byte[] getDigest() {
+
+        if (digest == null) {
+            if (messageDigest != null) {
+                digest = messageDigest.digest();
+            } else {
+                final long value = checksum.getValue();
+                digest = new byte[8];
+                for (int i = 0; i < 8; i++) {
+                    digest[i] = (byte) (value >>> (56 - 8 * i));
+                }
+            }
+        }
+        return digest.clone();
+    }
+
+    private void update(final int b) {
+
+        requireOpen();
+        if (messageDigest != null) {
+            messageDigest.update((byte) b);
+        } else {
+            checksum.update(b);
+        }
+    }
+
+    private void update(final byte[] bytes, final int offset, final int length) {
+
+        requireOpen();
+        if (messageDigest != null) {
+            messageDigest.update(bytes, offset, length);
+        } else {
+            checksum.update(bytes, offset, length);
+        }
+    }
+
+    private void requireOpen() {
+
+        if (digest != null) {
+            throw new IllegalStateException("Digest has already been computed");
+        }
+    }
+
+    /**
+     * Wraps the stream so that all bytes written to it update the digest.
+     *
+     * @param outputStream
+     *         the stream to wrap
+     *
+     * @return the stream that updates the digest
+     */
+    OutputStream wrap(final OutputStream outputStream) {
+
+        return new FilterOutputStream(outputStream) {
+
+            @Override
+            public void write(final int b) throws IOException {
+
+                update(b);
+                out.write(b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+
+                update(b, off, len);
+                out.write(b, off, len);
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Output stream that collects the output in a direct buffer and writes it to a file channel in large chunks, so that
+ * the data is copied once into native memory and written with few system calls. Writes that are larger than the
+ * buffer are passed to the channel directly. The channel is not closed when the stream is closed.
+ * <br>
+ * Direct buffers are only released by the garbage collector, so they are pooled in a fixed number of slots that are
+ * claimed and returned using atomic operations. A stream takes a buffer from the pool when it is created and returns
+ * it when it is closed. If all slots are empty, a new buffer is allocated; if all slots are occupied, a returned
+ * buffer is dropped.
+ */
+final class FileChannelOutputStream extends OutputStream {
+
+    /**
+     * Size of the buffer in bytes
+     */
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final int SLOTS = Runtime.getRuntime().availableProcessors();
+    private static final AtomicReferenceArray<ByteBuffer> BUFFERS = new AtomicReferenceArray<>(SLOTS);
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = acquire();
+
+    FileChannelOutputStream(final FileChannel channel) {
+
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+
+        if (len > buffer.remaining()) {
+            flushBuffer();
+            if (len > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(b, off, len));
+                return;
+            }
+        }
+        buffer.put(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+
+        flushBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flushBuffer();
+        } finally {
+            release(buffer);
+            buffer = null;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(final ByteBuffer data) throws IOException {
+
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    /**
+     * @return a buffer from the pool or a newly allocated buffer if the pool is empty
+     */
+    private static ByteBuffer acquire() {
+
+        final int offset = ThreadLocalRandom.current().nextInt(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            final ByteBuffer pooled = BUFFERS.getAndSet((offset + i) % SLOTS, null);
+            if (pooled != null) {
+                return pooled;
+            }
+        }
+        return ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a buffer to the pool.
+     *
+     * @param released
+     *         the buffer to return
+     */
+    private static void release(final ByteBuffer released) {
+
+        released.clear();
+        final int offset = ThreadLocalRandom.current().nextInt(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            if (BUFFERS.compareAndSet((offset + i) % SLOTS, null, released)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Limits for untrusted input that are enforced while the input is parsed. The nesting depth and the number of
+ * elements are checked as each token is read. The lengths of strings, property names and numbers are checked per
+ * token after the parser has read it, so a long string or number is held in memory completely before it is
+ * rejected. Only the maximum input size bounds the memory used for reading, and only for input streams and readers,
+ * which are read no further than the maximum size. Callers that read untrusted input must therefore set the maximum
+ * input size. The size of byte based input, i.e. streams, byte arrays and files, is counted in bytes. The size of
+ * character based input, i.e. strings and readers, is counted in UTF-16 <code>char</code>s, not in encoded bytes, so
+ * that non-ASCII input may be larger than the maximum size when it is encoded as UTF-8.
+ */
+public final class InputLimits {
+
+    /**
+     * No limits
+     */
+    public static final InputLimits UNLIMITED = new InputLimits(Long.MAX_VALUE,
+                                                                Integer.MAX_VALUE,
+                                                                Integer.MAX_VALUE,
+                                                                Integer.MAX_VALUE,
+                                                                Integer.MAX_VALUE);
+
+    private final long maxInputSize;
+    private final int maxNestingDepth;
+    private final int maxStringLength;
+    private final int maxNumberLength;
+    private final int maxCollectionSize;
+
+    /**
+     * Creates new limits.
+     *
+     * @param maxInputSize
+     *         the maximum number of bytes or characters of a document
+     * @param maxNestingDepth
+     *         the maximum number of nested objects and arrays
+     * @param maxStringLength
+     *         the maximum number of characters of a string value or property name
+     * @param maxNumberLength
+     *         the maximum number of characters of a number
+     * @param maxCollectionSize
+     *         the maximum number of elements of an array or properties of an object
+     */
+    public InputLimits(final long maxInputSize,
+                       final int maxNestingDepth,
+                       final int maxStringLength,
+                       final int maxNumberLength,
+                       final int maxCollectionSize) {
+
+        if (maxInputSize < 1 || maxNestingDepth < 1 || maxStringLength < 1 || maxNumberLength < 1
+                || maxCollectionSize < 1) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        this.maxInputSize = maxInputSize;
+        this.maxNestingDepth = maxNestingDepth;
+        this.maxStringLength = maxStringLength;
+        this.maxNumberLength = maxNumberLength;
+        this.maxCollectionSize = maxCollectionSize;
+    }
+
+    public long getMaxInputSize() {
+
+        return maxInputSize;
+    }
+
+    public int getMaxNestingDepth() {
+
+        return maxNestingDepth;
+    }
+
+    public int getMaxStringLength() {
+
+        return maxStringLength;
+    }
+
+    public int getMaxNumberLength() {
+
+        return maxNumberLength;
+    }
+
+    public int getMaxCollectionSize() {
+
+        return maxCollectionSize;
+    }
+
+    /**
+     * @return <code>true</code> if no structural limit is set, so parsers don't need to be checked
+     */
+    private boolean isStructureUnlimited() {
+
+        return maxNestingDepth == Integer.MAX_VALUE
+                && maxStringLength == Integer.MAX_VALUE
+                && maxNumberLength == Integer.MAX_VALUE
+                && maxCollectionSize == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Checks the size of input whose size is known in advance.
+     *
+     * @param size
+     *         the number of bytes or characters of the input
+     *
+     * @throws JsonParseException
+     *         if the input is too large
+     */
+    void checkSize(final long size) throws JsonParseException {
+
+        if (size > maxInputSize) {
+            throw tooLarge(null);
+        }
+    }
+
+    JsonParseException tooLarge(final JsonParser parser) {
+
+        return new JsonParseException(parser, "Input exceeds the maximum size of " + maxInputSize);
+    }
+
+    /**
+     * Applies the structural limits to the parser.
+     *
+     * @param parser
+     *         the parser to check
+     *
+     * @return a parser that fails as soon as a limit is exceeded
+     */
+    JsonParser apply(final JsonParser parser) {
+
+        return isStructureUnlimited() ? parser : new LimitingJsonParser(parser, this);
+    }
+
+    /**
+     * Applies the size limit to the stream.
+     *
+     * @param inputStream
+     *         the stream to limit
+     *
+     * @return a stream that fails as soon as more bytes than allowed are read
+     */
+    InputStream apply(final InputStream inputStream) {
+
+        if (maxInputSize == Long.MAX_VALUE) {
+            return inputStream;
+        }
+        return new FilterInputStream(inputStream) {
+
+            private long size;
+
+            @Override
+            public int read() throws IOException {
+
+                final int b = super.read();
+                if (b >= 0) {
+                    count(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+
+                final int read = super.read(b, off, len);
+                if (read > 0) {
+                    count(read);
+                }
+                return read;
+            }
+
+            private void count(final int read) throws JsonParseException {
+
+                size += read;
+                checkSize(size);
+            }
+        };
+    }
+
+    /**
+     * Applies the size limit to the reader.
+     *
+     * @param reader
+     *         the reader to limit
+     *
+     * @return a reader that fails as soon as more characters than allowed are read
+     */
+    Reader apply(final Reader reader) {
+
+        if (maxInputSize == Long.MAX_VALUE) {
+            return reader;
+        }
+        return new FilterReader(reader) {
+
+            private long size;
+
+            @Override
+            public int read() throws IOException {
+
+                final int c = super.read();
+                if (c >= 0) {
+                    count(1);
+                }
+                return c;
+            }
+
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) throws IOException {
+
+                final int read = super.read(cbuf, off, len);
+                if (read > 0) {
+                    count(read);
+                }
+                return read;
+            }
+
+            private void count(final int read) throws JsonParseException {
+
+                size += read;
+                checkSize(size);
+            }
+        };
+    }
+}
@@ -16,137 +16,1807 @@
 
 package io.devcon5.jsonb.jackson;
 
+import static io.devcon5.jsonb.jackson.BindingEvent.Operation.DESERIALIZE;
+import static io.devcon5.jsonb.jackson.BindingEvent.Operation.SERIALIZE;
+
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbException;
+import javax.json.spi.JsonProvider;
+import java.io.Closeable;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import io.devcon5.jsonb.Types;
+import io.devcon5.jsonb.jackson.BindingEvent.Flavor;
+import io.devcon5.jsonp.jackson.JacksonJsonProvider;
 
 /**
  * Jackson2 based implementation for JsonB API
  */
 public class JacksonJsonb implements Jsonb {
 
+    /**
+     * Default number of types for which pre-built readers and writers are retained
+     */
+    public static final int DEFAULT_TYPE_CACHE_SIZE = 1024;
+
+    private final Mappers mappers;
     private final ObjectMapper mapper;
+    private final TypeCache<ObjectReader> readers;
+    private final TypeCache<ObjectWriter> writers;
+    private final ObjectWriter runtimeTypeWriter;
+    private final boolean textFormat;
+    private final JsonbInstrumentation instrumentation;
+    private final InputLimits limits;
+    private final OutputCache outputCache;
+    private final LazyObjects lazyObjects;
+    private final JsonProvider jsonProvider;
+    private volatile TypeCache<ObjectReader> mergingReaders;
+    private volatile TypeCache<ObjectWriter> canonicalWriters;
+    private volatile Duration warmUpDuration = Duration.ZERO;
 
     public JacksonJsonb(final ObjectMapper mapper) {
+        this(mapper, DEFAULT_TYPE_CACHE_SIZE);
+    }
+
+    public JacksonJsonb(final ObjectMapper mapper, final int typeCacheSize) {
+        this(mapper, typeCacheSize, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mapper
+     *         the mapper used for binding
+     * @param typeCacheSize
+     *         the maximum number of types for which pre-built readers and writers are retained
+     * @param instrumentation
+     *         the instrumentation that is notified about every binding operation, may be <code>null</code>
+     */
+    public JacksonJsonb(final ObjectMapper mapper,
+                        final int typeCacheSize,
+                        final JsonbInstrumentation instrumentation) {
+        this(mapper, typeCacheSize, instrumentation, InputLimits.UNLIMITED);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mapper
+     *         the mapper used for binding
+     * @param typeCacheSize
+     *         the maximum number of types for which pre-built readers and writers are retained
+     * @param instrumentation
+     *         the instrumentation that is notified about every binding operation, may be <code>null</code>
+     * @param limits
+     *         the limits that are enforced on all input
+     */
+    public JacksonJsonb(final ObjectMapper mapper,
+                        final int typeCacheSize,
+                        final JsonbInstrumentation instrumentation,
+                        final InputLimits limits) {
+        this(mapper, typeCacheSize, instrumentation, limits, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mapper
+     *         the mapper used for binding
+     * @param typeCacheSize
+     *         the maximum number of types for which pre-built readers and writers are retained
+     * @param instrumentation
+     *         the instrumentation that is notified about every binding operation, may be <code>null</code>
+     * @param limits
+     *         the limits that are enforced on all input
+     * @param outputCache
+     *         the cache for the serialized output of cacheable objects, may be <code>null</code>
+     */
+    public JacksonJsonb(final ObjectMapper mapper,
+                        final int typeCacheSize,
+                        final JsonbInstrumentation instrumentation,
+                        final InputLimits limits,
+                        final OutputCache outputCache) {
+        this(new Mappers(mapper), typeCacheSize, instrumentation, limits, outputCache, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param mappers
+     *         the mapper used for binding and its variants, which may be shared with other instances
+     * @param jsonProvider
+     *         the JSON-P provider of the instance, a {@link JacksonJsonProvider} if <code>null</code>
+     */
+    JacksonJsonb(final Mappers mappers,
+                 final int typeCacheSize,
+                 final JsonbInstrumentation instrumentation,
+                 final InputLimits limits,
+                 final OutputCache outputCache,
+                 final JsonProvider jsonProvider) {
+        final ObjectMapper mapper = mappers.mapper();
+        this.mappers = mappers;
         this.mapper = mapper;
+        this.readers = new TypeCache<>(typeCacheSize,
+                                       type -> mapper.readerFor(mapper.getTypeFactory().constructType(type)));
+        this.writers = new TypeCache<>(typeCacheSize,
+                                       type -> mapper.writerFor(mapper.getTypeFactory().constructType(type)));
+        this.runtimeTypeWriter = mapper.writer();
+        this.textFormat = !mapper.getFactory().canHandleBinaryNatively();
+        this.instrumentation = instrumentation;
+        this.limits = limits;
+        this.outputCache = outputCache;
+        this.lazyObjects = new LazyObjects(mapper, typeCacheSize, limits);
+        this.jsonProvider = jsonProvider != null ? jsonProvider : new JacksonJsonProvider();
+    }
+
+    ObjectMapper getMapper() {
 
+        return mapper;
+    }
+
+    Mappers getMappers() {
+
+        return mappers;
+    }
+
+    /**
+     * Builds the readers and writers for the given types in parallel, so that serializers and deserializers are
+     * already constructed when the types are first used. The warm-up is limited by the size of the type caches.
+     *
+     * @param types
+     *         the types to warm up
+     *
+     * @return the time it took to warm up all types
+     */
+    public Duration warmUp(final Collection<? extends Type> types) {
+
+        final long start = System.nanoTime();
+        types.parallelStream().forEach(type -> {
+            readers.get(type);
+            writers.get(type);
+        });
+        this.warmUpDuration = Duration.ofNanos(System.nanoTime() - start);
+        return this.warmUpDuration;
+    }
+
+    /**
+     * @return the time it took to complete the last warm-up, or zero if no warm-up was done
+     *
+     * @see #warmUp(Collection)
+     */
+    public Duration getWarmUpDuration() {
+
+        return warmUpDuration;
+    }
+
+    /**
+     * @return the JSON-P provider that was passed to the builder, or the Jackson based JSON-P provider. Values created
+     * by the Jackson based provider are written directly from their tree.
+     */
+    public JsonProvider getJsonProvider() {
+
+        return jsonProvider;
+    }
+
+    /**
+     * @return the cache of readers that were built for the types passed to the <code>fromJson</code> methods
+     */
+    public TypeCache<ObjectReader> getReaderCache() {
+
+        return readers;
+    }
+
+    /**
+     * @return the cache of writers that were built for the types passed to the <code>toJson</code> methods
+     */
+    public TypeCache<ObjectWriter> getWriterCache() {
+
+        return writers;
     }
 
     @Override
     public <T> T fromJson(final String s, final Class<T> aClass) throws JsonbException {
 
-        try {
-            return mapper.readValue(s, aClass);
-        } catch (IOException e) {
-            throw new JsonbException("Could not parse content", e);
-        }
+        return fromJson(s, (Type) aClass);
     }
 
     @Override
     public <T> T fromJson(final String s, final Type type) throws JsonbException {
 
-        try {
-            return mapper.readValue(s, TypeFactory.defaultInstance().constructType(type));
-        } catch (IOException e) {
-            throw new JsonbException("Could not parse content", e);
-        }
+        requireTextFormat();
+        return deserialize(type, Flavor.STRING, s.length(), probe -> {
+            limits.checkSize(s.length());
+            return read(type, mapper.getFactory().createParser(s));
+        });
     }
 
     @Override
     public <T> T fromJson(final Reader reader, final Class<T> aClass) throws JsonbException {
 
-        try {
-            return mapper.readValue(reader, aClass);
-        } catch (IOException e) {
-            throw new JsonbException("Could not parse content", e);
-        }
+        return fromJson(reader, (Type) aClass);
     }
 
     @Override
     public <T> T fromJson(final Reader reader, final Type type) throws JsonbException {
 
+        requireTextFormat();
+        return deserialize(type, Flavor.READER, 0, probe -> {
+            return read(type, mapper.getFactory().createParser(limits.apply(Probe.count(probe, reader))));
+        });
+    }
+
+    @Override
+    public <T> T fromJson(final InputStream inputStream, final Class<T> aClass) throws JsonbException {
+
+        return fromJson(inputStream, (Type) aClass);
+    }
+
+    @Override
+    public <T> T fromJson(final InputStream inputStream, final Type type) throws JsonbException {
+
+        return deserialize(type, Flavor.INPUT_STREAM, 0, probe -> {
+            return read(type, mapper.getFactory().createParser(limits.apply(Probe.count(probe, inputStream))));
+        });
+    }
+
+    /**
+     * Binds the value of the parser, enforcing the input limits. The parser is closed afterwards.
+     */
+    private <T> T read(final Type type, final JsonParser parser) throws IOException {
+
+        try (JsonParser p = limits.apply(parser)) {
+            return readers.get(type).readValue(p);
+        }
+    }
+
+    /**
+     * Reads in a JSON data from the specified byte array and return the resulting content tree.
+     *
+     * @param bytes
+     *         the UTF-8 encoded JSON data
+     * @param type
+     *         the type of the content tree's root object
+     * @param <T>
+     *         the type of the content tree's root object
+     *
+     * @return the newly created root object of the java content tree
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     */
+    public <T> T fromJson(final byte[] bytes, final Type type) throws JsonbException {
+
+        return fromJson(bytes, 0, bytes.length, type);
+    }
+
+    /**
+     * Reads in a JSON data from a range of the specified byte array and return the resulting content tree.
+     *
+     * @param bytes
+     *         the UTF-8 encoded JSON data
+     * @param offset
+     *         the offset of the first byte of the JSON data
+     * @param length
+     *         the number of bytes of the JSON data
+     * @param type
+     *         the type of the content tree's root object
+     * @param <T>
+     *         the type of the content tree's root object
+     *
+     * @return the newly created root object of the java content tree
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     */
+    public <T> T fromJson(final byte[] bytes, final int offset, final int length, final Type type)
+            throws JsonbException {
+
+        return deserialize(type, Flavor.BYTE_ARRAY, length, probe -> {
+            limits.checkSize(length);
+            return read(type, mapper.getFactory().createParser(bytes, offset, length));
+        });
+    }
+
+    /**
+     * Reads in a JSON data from the remaining bytes of the specified buffer and return the resulting content tree.
+     * Heap buffers are parsed from their backing array without copying the content, the content of direct buffers is
+     * copied into the input buffer of the parser chunk by chunk. The position of the buffer is not changed.
+     *
+     * @param buffer
+     *         the buffer containing the UTF-8 encoded JSON data between its position and limit
+     * @param type
+     *         the type of the content tree's root object
+     * @param <T>
+     *         the type of the content tree's root object
+     *
+     * @return the newly created root object of the java content tree
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     */
+    public <T> T fromJson(final ByteBuffer buffer, final Type type) throws JsonbException {
+
+        return deserialize(type, Flavor.BYTE_BUFFER, buffer.remaining(), probe -> {
+            limits.checkSize(buffer.remaining());
+            if (buffer.hasArray()) {
+                return read(type, mapper.getFactory().createParser(buffer.array(),
+                                                                   buffer.arrayOffset() + buffer.position(),
+                                                                   buffer.remaining()));
+            }
+            return read(type, mapper.getFactory().createParser(new ByteBufferBackedInputStream(buffer.duplicate())));
+        });
+    }
+
+    /**
+     * Reads in a JSON data from the specified file and return the resulting content tree. The file is mapped into
+     * memory and parsed from the mapped region, without reading it through a stream. Files larger than 2 GB are mapped
+     * in consecutive regions. The size of the file is checked against the input limits before it is read.
+     *
+     * @param path
+     *         the path of the file containing the UTF-8 encoded JSON data
+     * @param type
+     *         the type of the content tree's root object
+     * @param <T>
+     *         the type of the content tree's root object
+     *
+     * @return the newly created root object of the java content tree
+     *
+     * @throws JsonbException
+     *         if the file could not be read or the data could not be parsed
+     */
+    public <T> T fromJson(final Path path, final Type type) throws JsonbException {
+
+        return Probe.measure(instrumentation, DESERIALIZE, type, Flavor.FILE, 0,
+                             e -> new JsonbException("Could not parse content of " + path, e), probe -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final long size = channel.size();
+                Probe.size(probe, size);
+                limits.checkSize(size);
+                return read(type, mapper.getFactory().createParser(new MappedFileInputStream(channel, size)));
+            }
+        });
+    }
+
+    /**
+     * Reads a JSON object from the specified byte array into a lazily materialized view of an interface type.
+     * Creating the view only records where the values of the properties of the interface start, without binding
+     * them. Each property is bound when its getter is first called and then retained, so that binding is limited to
+     * the properties that are actually read. Properties of application-defined interface types are lazy views as
+     * well. Use it to read few properties of large objects.
+     * <br>
+     * The view is backed by the byte array, which must not be modified afterwards. The view is read-only and only
+     * supports the property getters, default methods and the methods of {@link Object}, of which
+     * <code>toString</code> returns the JSON object. Default getters are invoked instead of being bound. Errors of
+     * binding a property are thrown from its getter as {@link JsonbException}.
+     *
+     * @param bytes
+     *         the UTF-8 encoded JSON object
+     * @param type
+     *         the interface type of the view
+     * @param <T>
+     *         the interface type of the view
+     *
+     * @return the view of the JSON object or <code>null</code> if the JSON data is <code>null</code>
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed or the type is not an interface
+     */
+    public <T> T fromJsonLazy(final byte[] bytes, final Class<T> type) throws JsonbException {
+
+        requireJsonFormat("Lazy binding");
+        return deserialize(type, Flavor.BYTE_ARRAY, bytes.length, probe -> {
+            limits.checkSize(bytes.length);
+            return lazyObjects.create(bytes, 0, bytes.length, type);
+        });
+    }
+
+    /**
+     * Reads a JSON object from the specified string into a lazily materialized view of an interface type.
+     *
+     * @param s
+     *         the string containing the JSON object
+     * @param type
+     *         the interface type of the view
+     * @param <T>
+     *         the interface type of the view
+     *
+     * @return the view of the JSON object or <code>null</code> if the JSON data is <code>null</code>
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed or the type is not an interface
+     *
+     * @see #fromJsonLazy(byte[], Class)
+     */
+    public <T> T fromJsonLazy(final String s, final Class<T> type) throws JsonbException {
+
+        return fromJsonLazy(s.getBytes(StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Reads JSON data from the specified string into an existing object. Only the properties that are contained in
+     * the data are overwritten, all other properties keep their values. Nested objects, collections and maps are
+     * replaced by new instances, use {@link #mergeJsonInto(String, Object)} to update them in place as well. The
+     * type of the object is determined by its runtime class.
+     *
+     * @param s
+     *         the string containing the JSON data
+     * @param existing
+     *         the object to update
+     * @param <T>
+     *         the type of the object
+     *
+     * @return the updated object, which is the existing object unless it is an array
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     */
+    public <T> T fromJsonInto(final String s, final T existing) throws JsonbException {
+
+        requireTextFormat();
+        return deserialize(typeOf(existing, null), Flavor.STRING, s.length(), probe -> {
+            limits.checkSize(s.length());
+            return update(mapper.getFactory().createParser(s), existing, false);
+        });
+    }
+
+    /**
+     * Reads JSON data from the specified reader into an existing object.
+     *
+     * @param reader
+     *         the reader of the JSON data
+     * @param existing
+     *         the object to update
+     * @param <T>
+     *         the type of the object
+     *
+     * @return the updated object, which is the existing object unless it is an array
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #fromJsonInto(String, Object)
+     */
+    public <T> T fromJsonInto(final Reader reader, final T existing) throws JsonbException {
+
+        requireTextFormat();
+        return deserialize(typeOf(existing, null), Flavor.READER, 0, probe -> {
+            return update(mapper.getFactory().createParser(limits.apply(Probe.count(probe, reader))), existing, false);
+        });
+    }
+
+    /**
+     * Reads JSON data from the specified input stream into an existing object.
+     *
+     * @param inputStream
+     *         the stream of the JSON data
+     * @param existing
+     *         the object to update
+     * @param <T>
+     *         the type of the object
+     *
+     * @return the updated object, which is the existing object unless it is an array
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #fromJsonInto(String, Object)
+     */
+    public <T> T fromJsonInto(final InputStream inputStream, final T existing) throws JsonbException {
+
+        return deserialize(typeOf(existing, null), Flavor.INPUT_STREAM, 0, probe -> {
+            return update(mapper.getFactory().createParser(limits.apply(Probe.count(probe, inputStream))),
+                          existing,
+                          false);
+        });
+    }
+
+    /**
+     * Merges JSON data from the specified string into an existing object. In contrast to
+     * {@link #fromJsonInto(String, Object)}, nested objects are updated in place as well. Only values that are
+     * contained in the data are overwritten, so that the existing object graph is retained wherever possible.
+     * Collections, maps and arrays are replaced by the values of the data, so that merging the same data repeatedly
+     * yields the same result, unless the property is annotated with {@link com.fasterxml.jackson.annotation.JsonMerge}.
+     *
+     * @param s
+     *         the string containing the JSON data
+     * @param existing
+     *         the object to merge the data into
+     * @param <T>
+     *         the type of the object
+     *
+     * @return the updated object, which is the existing object unless it is an array
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     */
+    public <T> T mergeJsonInto(final String s, final T existing) throws JsonbException {
+
+        requireTextFormat();
+        return deserialize(typeOf(existing, null), Flavor.STRING, s.length(), probe -> {
+            limits.checkSize(s.length());
+            return update(mapper.getFactory().createParser(s), existing, true);
+        });
+    }
+
+    /**
+     * Merges JSON data from the specified reader into an existing object.
+     *
+     * @param reader
+     *         the reader of the JSON data
+     * @param existing
+     *         the object to merge the data into
+     * @param <T>
+     *         the type of the object
+     *
+     * @return the updated object, which is the existing object unless it is an array
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #mergeJsonInto(String, Object)
+     */
+    public <T> T mergeJsonInto(final Reader reader, final T existing) throws JsonbException {
+
+        requireTextFormat();
+        return deserialize(typeOf(existing, null), Flavor.READER, 0, probe -> {
+            return update(mapper.getFactory().createParser(limits.apply(Probe.count(probe, reader))), existing, true);
+        });
+    }
+
+    /**
+     * Merges JSON data from the specified input stream into an existing object.
+     *
+     * @param inputStream
+     *         the stream of the JSON data
+     * @param existing
+     *         the object to merge the data into
+     * @param <T>
+     *         the type of the object
+     *
+     * @return the updated object, which is the existing object unless it is an array
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #mergeJsonInto(String, Object)
+     */
+    public <T> T mergeJsonInto(final InputStream inputStream, final T existing) throws JsonbException {
+
+        return deserialize(typeOf(existing, null), Flavor.INPUT_STREAM, 0, probe -> {
+            return update(mapper.getFactory().createParser(limits.apply(Probe.count(probe, inputStream))),
+                          existing,
+                          true);
+        });
+    }
+
+    /**
+     * Binds the value of the parser into the existing object, enforcing the input limits. The parser is closed
+     * afterwards.
+     */
+    private <T> T update(final JsonParser parser, final T existing, final boolean merge) throws IOException {
+
+        if (existing == null) {
+            parser.close();
+            throw new IllegalArgumentException("The object to update must not be null");
+        }
+        final TypeCache<ObjectReader> cache = merge ? mergingReaders() : readers;
+        try (JsonParser p = limits.apply(parser)) {
+            return cache.get(existing.getClass()).withValueToUpdate(existing).readValue(p);
+        }
+    }
+
+    /**
+     * @return the writers of the shared copy of the mapper that sorts properties and map entries by name, which are
+     * created on first use
+     */
+    private TypeCache<ObjectWriter> canonicalWriters() {
+
+        TypeCache<ObjectWriter> cache = canonicalWriters;
+        if (cache == null) {
+            synchronized (this) {
+                cache = canonicalWriters;
+                if (cache == null) {
+                    final ObjectMapper canonical = mappers.canonical();
+                    cache = new TypeCache<>(writers.getMaxSize(),
+                                            type -> canonical.writerFor(canonical.getTypeFactory()
+                                                                                 .constructType(type)));
+                    canonicalWriters = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * @return the readers of the shared copy of the mapper on which all properties are mergeable, which are created
+     * on first use
+     */
+    private TypeCache<ObjectReader> mergingReaders() {
+
+        TypeCache<ObjectReader> cache = mergingReaders;
+        if (cache == null) {
+            synchronized (this) {
+                cache = mergingReaders;
+                if (cache == null) {
+                    final ObjectMapper merging = mappers.merging();
+                    cache = new TypeCache<>(readers.getMaxSize(),
+                                            type -> merging.readerFor(merging.getTypeFactory().constructType(type)));
+                    mergingReaders = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Reads only the value at the given JSON pointer from the specified string. Subtrees that are not on the path
+     * to the target are skipped without binding them.
+     *
+     * @param s
+     *         the string containing the JSON data
+     * @param jsonPointer
+     *         the JSON pointer expression of the value to read, i.e. <code>/data/items</code>
+     * @param type
+     *         the type of the target value
+     * @param <T>
+     *         the type of the target value
+     *
+     * @return the bound target value or <code>null</code> if the document contains no value at the pointer
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     * @throws IllegalArgumentException
+     *         if the pointer expression is invalid
+     */
+    public <T> T fromJson(final String s, final String jsonPointer, final Type type) throws JsonbException {
+
+        requireTextFormat();
+        final JsonPointer pointer = JsonPointer.compile(jsonPointer);
+        return deserialize(type, Flavor.STRING, s.length(), probe -> {
+            limits.checkSize(s.length());
+            return readAt(mapper.getFactory().createParser(s), pointer, type);
+        });
+    }
+
+    /**
+     * Reads only the value at the given JSON pointer from the specified reader. Subtrees that are not on the path
+     * to the target are skipped without binding them and reading stops as soon as the target has been read. The
+     * reader is closed afterwards.
+     *
+     * @param reader
+     *         the reader providing the JSON data
+     * @param jsonPointer
+     *         the JSON pointer expression of the value to read, i.e. <code>/data/items</code>
+     * @param type
+     *         the type of the target value
+     * @param <T>
+     *         the type of the target value
+     *
+     * @return the bound target value or <code>null</code> if the document contains no value at the pointer
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     * @throws IllegalArgumentException
+     *         if the pointer expression is invalid
+     */
+    public <T> T fromJson(final Reader reader, final String jsonPointer, final Type type) throws JsonbException {
+
+        requireTextFormat();
+        final JsonPointer pointer = JsonPointer.compile(jsonPointer);
+        return deserialize(type, Flavor.READER, 0, probe -> {
+            return readAt(mapper.getFactory().createParser(limits.apply(Probe.count(probe, reader))), pointer, type);
+        });
+    }
+
+    /**
+     * Reads only the value at the given JSON pointer from the specified input stream. Subtrees that are not on the
+     * path to the target are skipped without binding them and reading stops as soon as the target has been read.
+     * The input stream is closed afterwards.
+     *
+     * @param inputStream
+     *         the stream providing the JSON data
+     * @param jsonPointer
+     *         the JSON pointer expression of the value to read, i.e. <code>/data/items</code>
+     * @param type
+     *         the type of the target value
+     * @param <T>
+     *         the type of the target value
+     *
+     * @return the bound target value or <code>null</code> if the document contains no value at the pointer
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     * @throws IllegalArgumentException
+     *         if the pointer expression is invalid
+     */
+    public <T> T fromJson(final InputStream inputStream, final String jsonPointer, final Type type)
+            throws JsonbException {
+
+        final JsonPointer pointer = JsonPointer.compile(jsonPointer);
+        return deserialize(type, Flavor.INPUT_STREAM, 0, probe -> {
+            return readAt(mapper.getFactory().createParser(limits.apply(Probe.count(probe, inputStream))),
+                          pointer,
+                          type);
+        });
+    }
+
+    /**
+     * Advances the parser along the pointer, skipping all siblings of the path, and binds the value the pointer
+     * refers to. The parser is closed afterwards.
+     */
+    private <T> T readAt(final JsonParser parser, final JsonPointer pointer, final Type type) throws IOException {
+
+        try (JsonParser p = limits.apply(parser)) {
+            JsonToken token = p.nextToken();
+            for (JsonPointer remaining = pointer; !remaining.matches(); remaining = remaining.tail()) {
+                if (token == JsonToken.START_OBJECT) {
+                    token = advanceToField(p, remaining.getMatchingProperty());
+                } else if (token == JsonToken.START_ARRAY) {
+                    token = advanceToElement(p, remaining.getMatchingIndex());
+                } else {
+                    token = null;
+                }
+                if (token == null) {
+                    return null;
+                }
+            }
+            if (token == null) {
+                return null;
+            }
+            return readers.get(type).readValue(p);
+        }
+    }
+
+    private static JsonToken advanceToField(final JsonParser p, final String name) throws IOException {
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = p.getCurrentName();
+            final JsonToken value = p.nextToken();
+            if (name.equals(fieldName)) {
+                return value;
+            }
+            p.skipChildren();
+        }
+        return null;
+    }
+
+    private static JsonToken advanceToElement(final JsonParser p, final int index) throws IOException {
+
+        if (index < 0) {
+            return null;
+        }
+        JsonToken element;
+        for (int i = 0; (element = p.nextToken()) != JsonToken.END_ARRAY && element != null; i++) {
+            if (i == index) {
+                return element;
+            }
+            p.skipChildren();
+        }
+        return null;
+    }
+
+    /**
+     * Creates a feeder for binding a value from input that arrives in chunks without blocking.
+     *
+     * @param type
+     *         the type of the root object
+     * @param <T>
+     *         the type of the root object
+     *
+     * @return a new feeder whose result is completed once the root value has been fed completely
+     *
+     * @throws JsonbException
+     *         if the format does not support non-blocking parsing
+     * @see JsonFeeder
+     */
+    public <T> JsonFeeder<T> fromJsonAsync(final Class<T> type) throws JsonbException {
+
+        return fromJsonAsync((Type) type);
+    }
+
+    /**
+     * Creates a feeder for binding a value from input that arrives in chunks without blocking. The instrumentation
+     * is notified once the result is completed, the reported duration includes the time spent waiting for chunks.
+     *
+     * @param type
+     *         the type of the root object
+     * @param <T>
+     *         the type of the root object
+     *
+     * @return a new feeder whose result is completed once the root value has been fed completely
+     *
+     * @throws JsonbException
+     *         if the format does not support non-blocking parsing
+     * @see JsonFeeder
+     */
+    public <T> JsonFeeder<T> fromJsonAsync(final Type type) throws JsonbException {
+
+        if (!mapper.getFactory().canParseAsync()) {
+            throw new JsonbException("Non-blocking parsing is not supported by format "
+                                             + mapper.getFactory().getFormatName());
+        }
+        final Probe probe = Probe.start(instrumentation, DESERIALIZE, type, Flavor.BYTE_BUFFER, 0);
         try {
-            return mapper.readValue(reader, TypeFactory.defaultInstance().constructType(type));
+            return new JsonFeeder<>(limits.apply(mapper.getFactory().createNonBlockingByteArrayParser()),
+                                    readers.get(type),
+                                    probe,
+                                    limits);
         } catch (IOException e) {
-            throw new JsonbException("Could not parse content", e);
+            final JsonbException failure = Probe.fail(probe, new JsonbException("Could not create parser", e));
+            Probe.complete(probe);
+            throw failure;
+        } catch (RuntimeException | Error e) {
+            Probe.fail(probe, e);
+            Probe.complete(probe);
+            throw e;
         }
     }
 
-    @Override
-    public <T> T fromJson(final InputStream inputStream, final Class<T> aClass) throws JsonbException {
+    /**
+     * Reads the elements of a top-level JSON array from the specified input stream one at a time. Only the element
+     * that is currently processed is kept in memory, so arrays of arbitrary size can be read. The input stream is
+     * closed when the returned stream is closed.
+     *
+     * @param inputStream
+     *         the stream of the JSON array
+     * @param elementType
+     *         the type of the array elements
+     * @param <T>
+     *         the type of the array elements
+     *
+     * @return a sequential stream of the array elements
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed. Parse errors that occur while consuming the stream are thrown as
+     *         {@link JsonbException} as well
+     */
+    public <T> Stream<T> fromJsonStream(final InputStream inputStream, final Class<T> elementType)
+            throws JsonbException {
+
+        return fromJsonStream(inputStream, (Type) elementType);
+    }
 
+    /**
+     * Reads the elements of a top-level JSON array from the specified input stream one at a time.
+     *
+     * @param inputStream
+     *         the stream of the JSON array
+     * @param elementType
+     *         the type of the array elements
+     * @param <T>
+     *         the type of the array elements
+     *
+     * @return a sequential stream of the array elements
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #fromJsonStream(InputStream, Class)
+     */
+    public <T> Stream<T> fromJsonStream(final InputStream inputStream, final Type elementType)
+            throws JsonbException {
+
+        JsonParser parser = null;
         try {
-            return mapper.readValue(inputStream, aClass);
+            parser = limits.apply(mapper.getFactory().createParser(limits.apply(inputStream)));
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                //unwrap the top-level array, as the parser is not managed by the mapping iterator
+                parser.clearCurrentToken();
+            }
+            return toStream(readers.get(elementType).readValues(parser));
         } catch (IOException e) {
-            throw new JsonbException("Could not parse content", e);
+            throw closeAfterFailure(parser != null ? parser : inputStream,
+                                    new JsonbException("Could not parse content", e));
+        } catch (RuntimeException e) {
+            throw closeAfterFailure(parser != null ? parser : inputStream, e);
         }
     }
 
-    @Override
-    public <T> T fromJson(final InputStream inputStream, final Type type) throws JsonbException {
+    /**
+     * Reads a sequence of newline-delimited JSON values (JSON Lines) from the specified input stream one at a time.
+     * All values are read through the same parser. In contrast to {@link #fromJsonStream(InputStream, Class)}, a
+     * value that is a JSON array is bound as a single value. The input stream is closed when the returned stream is
+     * closed.
+     *
+     * @param inputStream
+     *         the stream of JSON values
+     * @param type
+     *         the type of the values
+     * @param <T>
+     *         the type of the values
+     *
+     * @return a sequential stream of the values
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed. Parse errors that occur while consuming the stream are thrown as
+     *         {@link JsonbException} as well
+     */
+    public <T> Stream<T> fromJsonLines(final InputStream inputStream, final Class<T> type) throws JsonbException {
+
+        return fromJsonLines(inputStream, (Type) type);
+    }
 
+    /**
+     * Reads a sequence of newline-delimited JSON values (JSON Lines) from the specified input stream one at a time.
+     *
+     * @param inputStream
+     *         the stream of JSON values
+     * @param type
+     *         the type of the values
+     * @param <T>
+     *         the type of the values
+     *
+     * @return a sequential stream of the values
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #fromJsonLines(InputStream, Class)
+     */
+    public <T> Stream<T> fromJsonLines(final InputStream inputStream, final Type type) throws JsonbException {
+
+        JsonParser parser = null;
         try {
-            return mapper.readValue(inputStream, TypeFactory.defaultInstance().constructType(type));
+            parser = limits.apply(mapper.getFactory().createParser(limits.apply(inputStream)));
+            //reading from an unmanaged parser prevents unwrapping of a leading array value
+            return toStream(readers.get(type).readValues(parser));
         } catch (IOException e) {
-            throw new JsonbException("Could not parse content", e);
+            throw closeAfterFailure(parser != null ? parser : inputStream,
+                                    new JsonbException("Could not parse content", e));
+        } catch (RuntimeException e) {
+            throw closeAfterFailure(parser != null ? parser : inputStream, e);
         }
     }
 
+    /**
+     * Reads the elements of a top-level JSON array from the specified input stream and binds them in parallel on
+     * the common {@link ForkJoinPool}.
+     *
+     * @param inputStream
+     *         the stream of the JSON array
+     * @param elementType
+     *         the type of the array elements
+     * @param <T>
+     *         the type of the array elements
+     *
+     * @return the array elements in input order
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #fromJsonParallel(InputStream, Type, ForkJoinPool)
+     */
+    public <T> List<T> fromJsonParallel(final InputStream inputStream, final Type elementType)
+            throws JsonbException {
+
+        return fromJsonParallel(inputStream, elementType, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads the elements of a top-level JSON array from the specified input stream and binds them in parallel. The
+     * input is read sequentially and split into chunks at element boundaries, and each chunk is parsed and bound as
+     * a task of the pool while the next chunks are read. Use it for large arrays whose binding would otherwise be
+     * limited to a single core. Only supported for the <code>json</code> format. The input stream is closed
+     * afterwards.
+     *
+     * @param inputStream
+     *         the stream of the JSON array
+     * @param elementType
+     *         the type of the array elements
+     * @param pool
+     *         the pool on which the elements are bound
+     * @param <T>
+     *         the type of the array elements
+     *
+     * @return the array elements in input order
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     */
+    public <T> List<T> fromJsonParallel(final InputStream inputStream,
+                                        final Type elementType,
+                                        final ForkJoinPool pool) throws JsonbException {
+
+        requireJsonFormat("Parallel binding");
+        return deserialize(Types.listOf(elementType), Flavor.INPUT_STREAM, 0, probe -> {
+            try (InputStream is = limits.apply(Probe.count(probe, inputStream))) {
+                return this.<T>parallelReader(elementType, pool).read(is);
+            }
+        });
+    }
+
+    /**
+     * Reads the elements of a top-level JSON array from the specified byte array and binds them in parallel on the
+     * common {@link ForkJoinPool}.
+     *
+     * @param bytes
+     *         the UTF-8 encoded JSON array
+     * @param elementType
+     *         the type of the array elements
+     * @param <T>
+     *         the type of the array elements
+     *
+     * @return the array elements in input order
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     *
+     * @see #fromJsonParallel(byte[], Type, ForkJoinPool)
+     */
+    public <T> List<T> fromJsonParallel(final byte[] bytes, final Type elementType) throws JsonbException {
+
+        return fromJsonParallel(bytes, elementType, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads the elements of a top-level JSON array from the specified byte array and binds them in parallel. The
+     * array is split into ranges at element boundaries, and each range is parsed and bound as a task of the pool.
+     * Only supported for the <code>json</code> format.
+     *
+     * @param bytes
+     *         the UTF-8 encoded JSON array
+     * @param elementType
+     *         the type of the array elements
+     * @param pool
+     *         the pool on which the elements are bound
+     * @param <T>
+     *         the type of the array elements
+     *
+     * @return the array elements in input order
+     *
+     * @throws JsonbException
+     *         if the data could not be parsed
+     */
+    public <T> List<T> fromJsonParallel(final byte[] bytes, final Type elementType, final ForkJoinPool pool)
+            throws JsonbException {
+
+        requireJsonFormat("Parallel binding");
+        return deserialize(Types.listOf(elementType), Flavor.BYTE_ARRAY, bytes.length, probe -> {
+            limits.checkSize(bytes.length);
+            return this.<T>parallelReader(elementType, pool).read(bytes, 0, bytes.length);
+        });
+    }
+
+    private <T> ParallelArrayReader<T> parallelReader(final Type elementType, final ForkJoinPool pool) {
+
+        return new ParallelArrayReader<>(mapper.getFactory(), readers.get(elementType), pool, limits);
+    }
+
+    private static <T> Stream<T> toStream(final MappingIterator<T> values) {
+
+        final Iterator<T> elements = new Iterator<T>() {
+
+            @Override
+            public boolean hasNext() {
+
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw new JsonbException("Could not parse content", e);
+                }
+            }
+
+            @Override
+            public T next() {
+
+                try {
+                    return values.nextValue();
+                } catch (IOException e) {
+                    throw new JsonbException("Could not parse content", e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                            .onClose(() -> {
+                                try {
+                                    values.close();
+                                    //parsers that are not managed by the iterator are not closed by it
+                                    values.getParser().close();
+                                } catch (IOException e) {
+                                    throw new JsonbException("Could not close content", e);
+                                }
+                            });
+    }
+
     @Override
     public String toJson(final Object o) throws JsonbException {
 
-        try {
-            return mapper.writeValueAsString(o);
-        } catch (JsonProcessingException e) {
-            throw new JsonbException("Could not serialize object of type" + o.getClass(), e);
-        }
+        return toJson(o, (Type) null);
     }
 
     @Override
     public String toJson(final Object o, final Type type) throws JsonbException {
 
-        return toJson(o);
+        requireTextFormat();
+        return serialize(typeOf(o, type), Flavor.STRING, probe -> {
+            final byte[] cached = cachedOutput(o, type);
+            final String json = cached != null
+                                ? new String(cached, StandardCharsets.UTF_8)
+                                : writerFor(type).writeValueAsString(o);
+            Probe.size(probe, json.length());
+            return json;
+        });
     }
 
     @Override
     public void toJson(final Object o, final Writer writer) throws JsonbException {
-        try {
-            mapper.writeValue(writer, o);
-        } catch (JsonProcessingException e) {
-            throw new JsonbException("Could not serialize object of type" + o.getClass(), e);
-        } catch (IOException e) {
-            throw new JsonbException("Could not write serialized object of type" + o.getClass(), e);
-        }
+        toJson(o, null, writer);
     }
 
     @Override
     public void toJson(final Object o, final Type type, final Writer writer) throws JsonbException {
-        toJson(o, writer);
+        requireTextFormat();
+        serialize(typeOf(o, type), Flavor.WRITER, probe -> {
+            final byte[] cached = cachedOutput(o, type);
+            if (cached != null) {
+                final Writer w = Probe.count(probe, writer);
+                w.write(new String(cached, StandardCharsets.UTF_8));
+                completeCachedWrite(w);
+                return null;
+            }
+            writerFor(type).writeValue(Probe.count(probe, writer), o);
+            return null;
+        });
     }
 
     @Override
     public void toJson(final Object o, final OutputStream outputStream) throws JsonbException {
-        try {
-            mapper.writeValue(outputStream, o);
+        toJson(o, null, outputStream);
+    }
+
+    @Override
+    public void toJson(final Object o, final Type type, final OutputStream outputStream) throws JsonbException {
+        serialize(typeOf(o, type), Flavor.OUTPUT_STREAM, probe -> {
+            final byte[] cached = cachedOutput(o, type);
+            if (cached != null) {
+                final OutputStream os = Probe.count(probe, outputStream);
+                os.write(cached);
+                completeCachedWrite(os);
+                return null;
+            }
+            writerFor(type).writeValue(Probe.count(probe, outputStream), o);
+            return null;
+        });
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} to the output stream and computes the digest of
+     * the written bytes while they are written, i.e. to produce an ETag without buffering the output.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     * @param outputStream
+     *         the stream to write the JSON data to
+     * @param digest
+     *         the sink computing the digest
+     *
+     * @return the digest of the written bytes
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized or written
+     *
+     * @see DigestSink#toETag(byte[])
+     */
+    public byte[] toJson(final Object o, final OutputStream outputStream, final DigestSink digest)
+            throws JsonbException {
+
+        return toJson(o, null, outputStream, digest, false);
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} to the output stream and computes the digest of
+     * the written bytes while they are written. With canonical ordering, the properties of objects and the entries
+     * of maps are written sorted by name, so that the output and its digest don't depend on the declaration order of
+     * properties or the iteration order of maps. The properties listed in
+     * {@link com.fasterxml.jackson.annotation.JsonPropertyOrder} of a type are still written first in the listed
+     * order, so the output of such types is only canonical as long as the annotation is unchanged.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     * @param type
+     *         the type of the root object or <code>null</code> to use the type of the object
+     * @param outputStream
+     *         the stream to write the JSON data to
+     * @param digest
+     *         the sink computing the digest
+     * @param canonical
+     *         <code>true</code> to write properties and map entries sorted by name
+     *
+     * @return the digest of the written bytes
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized or written
+     *
+     * @see #toJson(Object, OutputStream, DigestSink)
+     */
+    public byte[] toJson(final Object o,
+                         final Type type,
+                         final OutputStream outputStream,
+                         final DigestSink digest,
+                         final boolean canonical) throws JsonbException {
+
+        return serialize(typeOf(o, type), Flavor.OUTPUT_STREAM, probe -> {
+            final OutputStream os = digest.wrap(Probe.count(probe, outputStream));
+            final byte[] cached = canonical ? null : cachedOutput(o, type);
+            if (cached != null) {
+                os.write(cached);
+                completeCachedWrite(os);
+            } else if (canonical) {
+                canonicalWriters().get(type != null ? type : Object.class).writeValue(os, o);
+            } else {
+                writerFor(type).writeValue(os, o);
+            }
+            return digest.getDigest();
+        });
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} to the specified file, which is created or
+     * replaced. The output is written to the file channel in large chunks without an intermediate stream buffer.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     * @param path
+     *         the path of the file to write the JSON data to
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized or the file could not be written
+     */
+    public void toJson(final Object o, final Path path) throws JsonbException {
+
+        toJson(o, null, path);
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} to the specified file, which is created or
+     * replaced.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     * @param type
+     *         the type of the root object or <code>null</code> to use the type of the object
+     * @param path
+     *         the path of the file to write the JSON data to
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized or the file could not be written
+     *
+     * @see #toJson(Object, Path)
+     */
+    public void toJson(final Object o, final Type type, final Path path) throws JsonbException {
+
+        Probe.measure(instrumentation, SERIALIZE, typeOf(o, type), Flavor.FILE, 0,
+                      e -> e instanceof JsonProcessingException
+                           ? serializationError(typeOf(o, type), e)
+                           : new JsonbException("Could not write serialized object to " + path, e), probe -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                                        StandardOpenOption.WRITE);
+                 OutputStream os = Probe.count(probe, new FileChannelOutputStream(channel))) {
+                writerFor(type).writeValue(os, o);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} to a UTF-8 encoded byte array.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     *
+     * @return the serialized JSON data
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized
+     */
+    public byte[] toJsonBytes(final Object o) throws JsonbException {
+
+        return toJsonBytes(o, null);
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} to a UTF-8 encoded byte array using the given
+     * runtime type.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     * @param type
+     *         the type of the root object
+     *
+     * @return the serialized JSON data
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized
+     */
+    public byte[] toJsonBytes(final Object o, final Type type) throws JsonbException {
+
+        return serialize(typeOf(o, type), Flavor.BYTE_ARRAY, probe -> {
+            final byte[] cached = cachedOutput(o, type);
+            final byte[] json = cached != null ? cached.clone() : writerFor(type).writeValueAsBytes(o);
+            Probe.size(probe, json.length);
+            return json;
+        });
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} UTF-8 encoded into the given buffer, starting at
+     * its current position. The output is encoded into the output buffer of the generator and copied into the buffer
+     * chunk by chunk, for heap and direct buffers alike. After writing, the position of the buffer is behind the last
+     * written byte.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     * @param buffer
+     *         the buffer to write the JSON data into
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized or the remaining space of the buffer is too small, in which
+     *         case the buffer may contain partially written data
+     */
+    public void toJson(final Object o, final ByteBuffer buffer) throws JsonbException {
+
+        toJson(o, null, buffer);
+    }
+
+    /**
+     * Writes the Java object tree with root object {@code object} UTF-8 encoded into the given buffer using the given
+     * runtime type, starting at the current position of the buffer.
+     *
+     * @param o
+     *         the root object of the object content tree to be serialized
+     * @param type
+     *         the type of the root object or <code>null</code> to use the type of the object
+     * @param buffer
+     *         the buffer to write the JSON data into
+     *
+     * @throws JsonbException
+     *         if the object could not be serialized or the remaining space of the buffer is too small, in which
+     *         case the buffer may contain partially written data
+     *
+     * @see #toJson(Object, ByteBuffer)
+     */
+    public void toJson(final Object o, final Type type, final ByteBuffer buffer) throws JsonbException {
+
+        final int start = buffer.position();
+        serialize(typeOf(o, type), Flavor.BYTE_BUFFER, probe -> {
+            try {
+                final byte[] cached = cachedOutput(o, type);
+                if (cached != null) {
+                    buffer.put(cached);
+                } else {
+                    writerFor(type).writeValue(new ByteBufferBackedOutputStream(buffer), o);
+                }
+            } catch (BufferOverflowException e) {
+                throw new JsonbException("Buffer too small for serialized object of type" + typeOf(o, type), e);
+            }
+            Probe.size(probe, buffer.position() - start);
+            return null;
+        });
+    }
+
+    /**
+     * Writes the elements of the iterator as JSON array to the output stream. Each element is written as soon as it
+     * is retrieved from the iterator, so the elements don't have to be held in memory. Like the other methods writing
+     * to an output stream, the output stream is closed afterwards, unless
+     * {@link JsonGenerator.Feature#AUTO_CLOSE_TARGET} is disabled on the factory of the mapper.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param outputStream
+     *         the stream to write the JSON array to
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     */
+    public void toJson(final Iterator<?> elements, final OutputStream outputStream) throws JsonbException {
+
+        toJson(elements, null, outputStream, 0);
+    }
+
+    /**
+     * Writes the elements of the iterator as JSON array to the output stream using the given runtime type for all
+     * elements. The output stream is flushed every <code>flushInterval</code> elements, so that a consumer receives
+     * the data before the array has been completely written. The output stream is closed afterwards, unless
+     * {@link JsonGenerator.Feature#AUTO_CLOSE_TARGET} is disabled on the factory of the mapper.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param elementType
+     *         the type of the elements or <code>null</code> to use the type of each element
+     * @param outputStream
+     *         the stream to write the JSON array to
+     * @param flushInterval
+     *         the number of elements after which the output stream is flushed. Values <code>&lt;= 0</code> leave
+     *         flushing to the buffer management of the underlying generator
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     */
+    public void toJson(final Iterator<?> elements,
+                       final Type elementType,
+                       final OutputStream outputStream,
+                       final int flushInterval) throws JsonbException {
+
+        final ObjectWriter writer = writerFor(elementType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            int count = 0;
+            while (elements.hasNext()) {
+                writer.writeValue(generator, elements.next());
+                if (flushInterval > 0 && ++count % flushInterval == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
         } catch (JsonProcessingException e) {
-            throw new JsonbException("Could not serialize object of type" + o.getClass(), e);
+            throw new JsonbException("Could not serialize element", e);
         } catch (IOException e) {
-            throw new JsonbException("Could not write serialized object of type" + o.getClass(), e);
+            throw new JsonbException("Could not write serialized element", e);
         }
     }
 
-    @Override
-    public void toJson(final Object o, final Type type, final OutputStream outputStream) throws JsonbException {
-        toJson(o, outputStream);
+    /**
+     * Writes the elements of the stream as JSON array to the output stream. The stream is consumed but not closed,
+     * the output stream is closed afterwards.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param outputStream
+     *         the stream to write the JSON array to
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     *
+     * @see #toJson(Iterator, OutputStream)
+     */
+    public void toJson(final Stream<?> elements, final OutputStream outputStream) throws JsonbException {
+
+        toJson(elements.iterator(), null, outputStream, 0);
+    }
+
+    /**
+     * Writes the elements of the stream as JSON array to the output stream. The stream is consumed but not closed,
+     * the output stream is closed afterwards.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param elementType
+     *         the type of the elements or <code>null</code> to use the type of each element
+     * @param outputStream
+     *         the stream to write the JSON array to
+     * @param flushInterval
+     *         the number of elements after which the output stream is flushed
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     *
+     * @see #toJson(Iterator, Type, OutputStream, int)
+     */
+    public void toJson(final Stream<?> elements,
+                       final Type elementType,
+                       final OutputStream outputStream,
+                       final int flushInterval) throws JsonbException {
+
+        toJson(elements.iterator(), elementType, outputStream, flushInterval);
+    }
+
+    /**
+     * Writes the elements of the iterator as newline-delimited JSON values (JSON Lines) to the output stream. All
+     * values are written through the same generator, each value is terminated by a newline. The output stream is
+     * closed afterwards, unless {@link JsonGenerator.Feature#AUTO_CLOSE_TARGET} is disabled on the factory of the
+     * mapper.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param outputStream
+     *         the stream to write the JSON values to
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     */
+    public void toJsonLines(final Iterator<?> elements, final OutputStream outputStream) throws JsonbException {
+
+        toJsonLines(elements, null, outputStream);
+    }
+
+    /**
+     * Writes the elements of the iterator as newline-delimited JSON values (JSON Lines) to the output stream using
+     * the given runtime type for all elements. The output stream is closed afterwards, unless
+     * {@link JsonGenerator.Feature#AUTO_CLOSE_TARGET} is disabled on the factory of the mapper.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param elementType
+     *         the type of the elements or <code>null</code> to use the type of each element
+     * @param outputStream
+     *         the stream to write the JSON values to
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     */
+    public void toJsonLines(final Iterator<?> elements, final Type elementType, final OutputStream outputStream)
+            throws JsonbException {
+
+        requireTextFormat();
+        final ObjectWriter writer = writerFor(elementType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            while (elements.hasNext()) {
+                writer.writeValue(generator, elements.next());
+                generator.writeRaw('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new JsonbException("Could not serialize element", e);
+        } catch (IOException e) {
+            throw new JsonbException("Could not write serialized element", e);
+        }
+    }
+
+    /**
+     * Writes the elements of the stream as newline-delimited JSON values (JSON Lines) to the output stream. The
+     * stream is consumed but not closed, the output stream is closed afterwards.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param outputStream
+     *         the stream to write the JSON values to
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     *
+     * @see #toJsonLines(Iterator, OutputStream)
+     */
+    public void toJsonLines(final Stream<?> elements, final OutputStream outputStream) throws JsonbException {
+
+        toJsonLines(elements.iterator(), null, outputStream);
+    }
+
+    /**
+     * Writes the elements of the collection as JSON array to the output stream, encoding the elements in parallel
+     * on the common {@link ForkJoinPool}. The type of each element is used for serialization.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param outputStream
+     *         the stream to write the JSON array to
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     *
+     * @see #toJsonParallel(Collection, Type, OutputStream, ForkJoinPool)
+     */
+    public void toJsonParallel(final Collection<?> elements, final OutputStream outputStream) throws JsonbException {
+
+        toJsonParallel(elements, null, outputStream, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Writes the elements of the collection as JSON array to the output stream, encoding the elements in parallel.
+     * Ranges of elements are encoded into buffers as tasks of the pool, and the buffers are written to the output
+     * stream in the order of the collection. The output is identical to the output of
+     * {@link #toJson(Object, Type, OutputStream)}. Use it for large collections whose serialization would otherwise
+     * be limited to a single core. Collections with fewer than 64 elements per thread of the pool, binary formats and
+     * mappers that indent or wrap the output are written sequentially. The output stream is closed afterwards.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param elementType
+     *         the type of the elements or <code>null</code> to use the type of each element
+     * @param outputStream
+     *         the stream to write the JSON array to
+     * @param pool
+     *         the pool on which the elements are encoded
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     */
+    public void toJsonParallel(final Collection<?> elements,
+                               final Type elementType,
+                               final OutputStream outputStream,
+                               final ForkJoinPool pool) throws JsonbException {
+
+        final Type type = elementType != null ? Types.of(Collection.class, elementType) : elements.getClass();
+        serialize(type, Flavor.OUTPUT_STREAM, probe -> {
+            try (OutputStream os = Probe.count(probe, outputStream)) {
+                if (!ParallelArrayWriter.isParallelizable(elements.size(), pool) || !isParallelWritable()) {
+                    writerFor(elementType != null ? type : null).writeValue(os, elements);
+                    return null;
+                }
+                final List<?> list = elements instanceof List && elements instanceof RandomAccess
+                                     ? (List<?>) elements
+                                     : new ArrayList<>(elements);
+                new ParallelArrayWriter(mapper.getFactory(), writerFor(elementType), pool).write(list, os);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Writes the elements of the array as JSON array to the output stream, encoding the elements in parallel.
+     *
+     * @param elements
+     *         the elements to be written
+     * @param elementType
+     *         the type of the elements or <code>null</code> to use the type of each element
+     * @param outputStream
+     *         the stream to write the JSON array to
+     * @param pool
+     *         the pool on which the elements are encoded
+     *
+     * @throws JsonbException
+     *         if an element could not be serialized or written
+     *
+     * @see #toJsonParallel(Collection, Type, OutputStream, ForkJoinPool)
+     */
+    public void toJsonParallel(final Object[] elements,
+                               final Type elementType,
+                               final OutputStream outputStream,
+                               final ForkJoinPool pool) throws JsonbException {
+
+        toJsonParallel(Arrays.asList(elements), elementType, outputStream, pool);
+    }
+
+    /**
+     * @return <code>true</code> if elements that are encoded separately produce the same output as a sequentially
+     * written array
+     */
+    private boolean isParallelWritable() {
+
+        return JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName())
+                && !mapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && !mapper.isEnabled(SerializationFeature.WRAP_ROOT_VALUE);
+    }
+
+    /**
+     * Provides the serialized output of the object from the output cache.
+     *
+     * @return the cached output, which must not be modified, or <code>null</code> if there is no output cache or the
+     * object is not cacheable
+     */
+    private byte[] cachedOutput(final Object o, final Type type) throws IOException {
+
+        if (outputCache == null || o == null) {
+            return null;
+        }
+        return outputCache.get(o, typeOf(o, type), () -> writerFor(type).writeValueAsBytes(o));
+    }
+
+    /**
+     * Closes or flushes the target after cached output was written, as the generator would have done.
+     */
+    private void completeCachedWrite(final Flushable target) throws IOException {
+
+        if (mapper.getFactory().isEnabled(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            ((Closeable) target).close();
+        } else {
+            target.flush();
+        }
+    }
+
+    /**
+     * Closes the parser or input of a failed operation, which would otherwise remain open, as no stream is returned
+     * to the caller. Errors of closing are added to the failure as suppressed exceptions.
+     *
+     * @return the failure
+     */
+    private static <E extends Exception> E closeAfterFailure(final Closeable resource, final E failure) {
+
+        try {
+            resource.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        return failure;
+    }
+
+    /**
+     * Runs a deserialization measured by the instrumentation. I/O errors are thrown as {@link JsonbException}.
+     */
+    private <T> T deserialize(final Type type, final Flavor flavor, final long size, final Probe.Binding<T> binding) {
+
+        return Probe.measure(instrumentation,
+                             DESERIALIZE,
+                             type,
+                             flavor,
+                             size,
+                             e -> new JsonbException("Could not parse content", e),
+                             binding);
+    }
+
+    /**
+     * Runs a serialization measured by the instrumentation. I/O errors are thrown as {@link JsonbException}.
+     */
+    private <T> T serialize(final Type type, final Flavor flavor, final Probe.Binding<T> binding) {
+
+        return Probe.measure(instrumentation, SERIALIZE, type, flavor, 0, e -> serializationError(type, e), binding);
+    }
+
+    private static JsonbException serializationError(final Type type, final IOException e) {
+
+        return e instanceof JsonProcessingException
+               ? new JsonbException("Could not serialize object of type" + type, e)
+               : new JsonbException("Could not write serialized object of type" + type, e);
+    }
+
+    private ObjectWriter writerFor(final Type type) {
+
+        return type == null ? runtimeTypeWriter : writers.get(type);
+    }
+
+    private static Type typeOf(final Object o, final Type type) {
+
+        return type != null ? type : (o != null ? o.getClass() : null);
+    }
+
+    /**
+     * Ensures that the data format of the mapper is textual so that it can be read from and written to characters.
+     *
+     * @throws JsonbException
+     *         if the data format is binary
+     */
+    private void requireTextFormat() throws JsonbException {
+
+        if (!textFormat) {
+            throw new JsonbException("Character based input and output is not supported by binary format "
+                                             + mapper.getFactory().getFormatName()
+                                             + ", use the byte or stream based methods instead");
+        }
+    }
+
+    /**
+     * Ensures that the data format of the mapper is JSON, for operations that work on the JSON text, i.e. to split the
+     * input at element boundaries.
+     *
+     * @param operation
+     *         the name of the operation for the error message
+     *
+     * @throws JsonbException
+     *         if the data format is not JSON
+     */
+    private void requireJsonFormat(final String operation) throws JsonbException {
+
+        if (!JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName())) {
+            throw new JsonbException(operation + " is not supported by format "
+                                             + mapper.getFactory().getFormatName());
+        }
     }
 
     @Override
@@ -19,10 +19,26 @@ package io.devcon5.jsonb.jackson;
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbBuilder;
 import javax.json.bind.JsonbConfig;
+import javax.json.bind.JsonbException;
 import javax.json.spi.JsonProvider;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.devcon5.jsonp.jackson.JsonpModule;
 
 /**
  * Jackson2 based implmentation of Jsonb API
@@ -39,9 +55,136 @@ public class JacksonJsonbBuilder implements JsonbBuilder {
      * Property name that can be used in configuration
      */
     public static final String INCLUDE_EMPTY_VALUES = "jsonb.jackson.emptyValues";
+    /**
+     * Property name that can be used in configuration to define the maximum number of types for which pre-built
+     * readers and writers are cached. When more types are used, rarely used readers and writers are evicted and
+     * rebuilt on their next use, which is shown by {@link TypeCache#getEvictions()}. Default is
+     * {@link JacksonJsonb#DEFAULT_TYPE_CACHE_SIZE}
+     */
+    public static final String TYPE_CACHE_SIZE = "jsonb.jackson.typeCacheSize";
+    /**
+     * Property name that can be used in configuration to enable bytecode generated property accessors instead of
+     * reflection. If enabled, the Jackson Blackbird module (on Java 9 or later) or the Afterburner module is
+     * registered, whichever is found on the classpath first. If none of the modules is present, reflection is used.
+     * Default is <code>false</code>
+     */
+    public static final String ACCESSOR_OPTIMIZATION = "jsonb.jackson.accessorOptimization";
+    /**
+     * Property name that can be used in configuration to toggle whether the underlying mapper is shared with all
+     * other instances built with an equivalent configuration. Sharing the mapper avoids that serializers and
+     * deserializers are built again for every instance. Set to <code>false</code> if the instance must be isolated.
+     * Shared mappers are held statically and retain the classes they have bound, call {@link #clearSharedMappers()}
+     * when these classes are unloaded, i.e. when an application is undeployed. Default is <code>true</code>
+     */
+    public static final String SHARED_MAPPER = "jsonb.jackson.sharedMapper";
+    /**
+     * Property name that can be used in configuration to select the wire format, which is one of
+     * {@link #FORMAT_JSON}, {@link #FORMAT_SMILE} or {@link #FORMAT_CBOR}. The binary formats require the according
+     * Jackson dataformat module on the classpath and can only be used with the <code>InputStream</code>,
+     * <code>OutputStream</code> and byte based methods. Default is {@link #FORMAT_JSON}
+     */
+    public static final String FORMAT = "jsonb.jackson.format";
+    /**
+     * Textual JSON format
+     */
+    public static final String FORMAT_JSON = "json";
+    /**
+     * Binary Smile format, requires <code>com.fasterxml.jackson.dataformat:jackson-dataformat-smile</code>
+     */
+    public static final String FORMAT_SMILE = "smile";
+    /**
+     * Binary CBOR format, requires <code>com.fasterxml.jackson.dataformat:jackson-dataformat-cbor</code>
+     */
+    public static final String FORMAT_CBOR = "cbor";
+    /**
+     * Property name that can be used in configuration to define types for which readers and writers are built
+     * eagerly when the {@link Jsonb} instance is built, so that the first requests for these types don't pay for the
+     * construction of serializers and deserializers. The value can be a {@link Type}, an array or collection of
+     * types or a comma-separated list of fully qualified class names.
+     *
+     * @see JacksonJsonb#getWarmUpDuration()
+     */
+    public static final String WARM_UP_TYPES = "jsonb.jackson.warmUpTypes";
+    /**
+     * Property name that can be used in configuration to register a {@link JsonbInstrumentation} that is notified
+     * about every binding operation, i.e. a {@link BindingStatistics}. Default is no instrumentation.
+     */
+    public static final String INSTRUMENTATION = "jsonb.jackson.instrumentation";
+    /**
+     * Property name that can be used in configuration to select how the buffers of parsers and generators are
+     * recycled, which is one of {@link #BUFFER_RECYCLING_THREAD_LOCAL} or {@link #BUFFER_RECYCLING_SHARED}. Only
+     * supported for the {@link #FORMAT_JSON} format. Default is {@link #BUFFER_RECYCLING_THREAD_LOCAL}
+     */
+    public static final String BUFFER_RECYCLING = "jsonb.jackson.bufferRecycling";
+    /**
+     * Buffers are recycled per thread, which is the default of Jackson. Works best with a limited number of
+     * long-lived threads, such as a thread pool.
+     */
+    public static final String BUFFER_RECYCLING_THREAD_LOCAL = "threadLocal";
+    /**
+     * Buffers are recycled in a lock-free pool that is shared by all threads. Avoids allocating new buffers for
+     * every operation on short-lived threads, such as virtual threads.
+     */
+    public static final String BUFFER_RECYCLING_SHARED = "shared";
+    /**
+     * Property name that can be used in configuration to define the maximum number of bytes, or UTF-16 chars for
+     * strings and readers, of a document. It is the only limit that bounds the memory used for reading, so it must be
+     * set when reading untrusted input. Default is unlimited
+     *
+     * @see InputLimits
+     */
+    public static final String MAX_INPUT_SIZE = "jsonb.jackson.maxInputSize";
+    /**
+     * Property name that can be used in configuration to define the maximum number of nested objects and arrays.
+     * Default is unlimited
+     */
+    public static final String MAX_NESTING_DEPTH = "jsonb.jackson.maxNestingDepth";
+    /**
+     * Property name that can be used in configuration to define the maximum number of characters of string values
+     * and property names. Default is unlimited
+     */
+    public static final String MAX_STRING_LENGTH = "jsonb.jackson.maxStringLength";
+    /**
+     * Property name that can be used in configuration to define the maximum number of characters of numbers.
+     * Default is unlimited
+     */
+    public static final String MAX_NUMBER_LENGTH = "jsonb.jackson.maxNumberLength";
+    /**
+     * Property name that can be used in configuration to define the maximum number of elements of an array or
+     * properties of an object. Default is unlimited
+     */
+    public static final String MAX_COLLECTION_SIZE = "jsonb.jackson.maxCollectionSize";
+    /**
+     * Property name that can be used in configuration to register an {@link OutputCache} for the serialized output
+     * of immutable or versioned objects. Default is no cache.
+     */
+    public static final String OUTPUT_CACHE = "jsonb.jackson.outputCache";
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+    private static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+    private static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private static final int SHARED_BUFFER_SLOTS = 4 * Runtime.getRuntime().availableProcessors();
+
+    private static final ConcurrentMap<MapperSettings, Mappers> SHARED_MAPPERS = new ConcurrentHashMap<>();
 
     private boolean includeNulls = false;
     private boolean includeEmpty = false;
+    private int typeCacheSize = JacksonJsonb.DEFAULT_TYPE_CACHE_SIZE;
+    private boolean accessorOptimization = false;
+    private boolean sharedMapper = true;
+    private String format = FORMAT_JSON;
+    private final Set<Type> warmUpTypes = new LinkedHashSet<>();
+    private JsonbInstrumentation instrumentation;
+    private OutputCache outputCache;
+    private JsonProvider jsonProvider;
+    private String bufferRecycling = BUFFER_RECYCLING_THREAD_LOCAL;
+    private long maxInputSize = InputLimits.UNLIMITED.getMaxInputSize();
+    private int maxNestingDepth = InputLimits.UNLIMITED.getMaxNestingDepth();
+    private int maxStringLength = InputLimits.UNLIMITED.getMaxStringLength();
+    private int maxNumberLength = InputLimits.UNLIMITED.getMaxNumberLength();
+    private int maxCollectionSize = InputLimits.UNLIMITED.getMaxCollectionSize();
 
     @Override
     public JsonbBuilder withConfig(final JsonbConfig jsonbConfig) {
@@ -52,25 +195,279 @@ public class JacksonJsonbBuilder implements JsonbBuilder {
         this.includeNulls = (boolean) jsonbConfig.getProperty(JsonbConfig.NULL_VALUES).orElse(this.includeNulls);
         this.includeNulls = (boolean) jsonbConfig.getProperty(INCLUDE_NULL_VALUES).orElse(this.includeNulls);
         this.includeEmpty = (boolean) jsonbConfig.getProperty(INCLUDE_EMPTY_VALUES).orElse(this.includeEmpty);
+        this.typeCacheSize = (int) jsonbConfig.getProperty(TYPE_CACHE_SIZE).orElse(this.typeCacheSize);
+        this.accessorOptimization = (boolean) jsonbConfig.getProperty(ACCESSOR_OPTIMIZATION)
+                                                         .orElse(this.accessorOptimization);
+        this.sharedMapper = (boolean) jsonbConfig.getProperty(SHARED_MAPPER).orElse(this.sharedMapper);
+        this.format = ((String) jsonbConfig.getProperty(FORMAT).orElse(this.format)).toLowerCase(Locale.ENGLISH);
+        jsonbConfig.getProperty(WARM_UP_TYPES).ifPresent(this::addWarmUpTypes);
+        this.instrumentation = (JsonbInstrumentation) jsonbConfig.getProperty(INSTRUMENTATION)
+                                                                 .orElse(this.instrumentation);
+        this.bufferRecycling = (String) jsonbConfig.getProperty(BUFFER_RECYCLING).orElse(this.bufferRecycling);
+        this.maxInputSize = ((Number) jsonbConfig.getProperty(MAX_INPUT_SIZE).orElse(this.maxInputSize)).longValue();
+        this.maxNestingDepth = intProperty(jsonbConfig, MAX_NESTING_DEPTH, this.maxNestingDepth);
+        this.maxStringLength = intProperty(jsonbConfig, MAX_STRING_LENGTH, this.maxStringLength);
+        this.maxNumberLength = intProperty(jsonbConfig, MAX_NUMBER_LENGTH, this.maxNumberLength);
+        this.maxCollectionSize = intProperty(jsonbConfig, MAX_COLLECTION_SIZE, this.maxCollectionSize);
+        this.outputCache = (OutputCache) jsonbConfig.getProperty(OUTPUT_CACHE).orElse(this.outputCache);
         return this;
     }
 
+    /**
+     * Adds types for which readers and writers are built eagerly when the {@link Jsonb} instance is built.
+     *
+     * @param types
+     *         the types to warm up, i.e. classes or types created with {@link io.devcon5.jsonb.Types}
+     *
+     * @return this builder
+     *
+     * @see #WARM_UP_TYPES
+     */
+    public JacksonJsonbBuilder withWarmUpTypes(final Type... types) {
+
+        this.warmUpTypes.addAll(Arrays.asList(types));
+        return this;
+    }
+
+    private void addWarmUpTypes(final Object types) {
+
+        if (types instanceof Type) {
+            this.warmUpTypes.add((Type) types);
+        } else if (types instanceof Type[]) {
+            this.warmUpTypes.addAll(Arrays.asList((Type[]) types));
+        } else if (types instanceof Collection) {
+            for (Object type : (Collection<?>) types) {
+                addWarmUpTypes(type);
+            }
+        } else if (types instanceof String) {
+            for (String className : ((String) types).split(",")) {
+                if (!className.trim().isEmpty()) {
+                    this.warmUpTypes.add(loadClass(className.trim()));
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported warm-up type definition " + types);
+        }
+    }
+
+    /**
+     * Reads an integer property that may be configured as any kind of number.
+     */
+    private static int intProperty(final JsonbConfig jsonbConfig, final String name, final int defaultValue) {
+
+        return ((Number) jsonbConfig.getProperty(name).orElse(defaultValue)).intValue();
+    }
+
+    /**
+     * Removes all shared mappers, so that the classes they have bound and their class loaders can be garbage
+     * collected once all instances using them are discarded. Instances built afterwards use new mappers. Call it when
+     * an application is undeployed or its classes are reloaded.
+     */
+    public static void clearSharedMappers() {
+
+        SHARED_MAPPERS.clear();
+    }
+
     @Override
     public JsonbBuilder withProvider(final JsonProvider jsonProvider) {
-        //noop
+
+        this.jsonProvider = jsonProvider;
         return this;
     }
 
     @Override
     public Jsonb build() {
 
-        final ObjectMapper mapper = new ObjectMapper();
-        if(!includeNulls){
-            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            if(!includeEmpty){
-                mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        final JsonInclude.Include inclusion;
+        if (includeNulls) {
+            inclusion = JsonInclude.Include.ALWAYS;
+        } else if (includeEmpty) {
+            inclusion = JsonInclude.Include.NON_NULL;
+        } else {
+            inclusion = JsonInclude.Include.NON_EMPTY;
+        }
+        final MapperSettings settings = new MapperSettings(inclusion,
+                                                         accessorOptimization,
+                                                         format,
+                                                         bufferRecycling);
+        final Mappers mappers = sharedMapper
+                                ? SHARED_MAPPERS.computeIfAbsent(settings, s -> new Mappers(createMapper(s)))
+                                : new Mappers(createMapper(settings));
+        final InputLimits limits = new InputLimits(maxInputSize,
+                                                   maxNestingDepth,
+                                                   maxStringLength,
+                                                   maxNumberLength,
+                                                   maxCollectionSize);
+        final JacksonJsonb jsonb = new JacksonJsonb(mappers,
+                                                    typeCacheSize,
+                                                    instrumentation,
+                                                    limits,
+                                                    outputCache,
+                                                    jsonProvider);
+        if (!warmUpTypes.isEmpty()) {
+            jsonb.warmUp(warmUpTypes);
+        }
+        return jsonb;
+    }
+
+    private static ObjectMapper createMapper(final MapperSettings settings) {
+
+        final ObjectMapper mapper = new ObjectMapper(createFactory(settings.format, settings.bufferRecycling));
+        mapper.setSerializationInclusion(settings.inclusion);
+        mapper.registerModule(new JsonpModule());
+        if (settings.accessorOptimization) {
+            findAccessorModule().ifPresent(mapper::registerModule);
+        }
+        return mapper;
+    }
+
+    /**
+     * Creates the factory for parsers and generators of the given format.
+     *
+     * @param format
+     *         the name of the format
+     * @param bufferRecycling
+     *         the strategy for recycling the buffers of parsers and generators
+     *
+     * @return the factory for the format or <code>null</code> for the default JSON factory of the mapper
+     *
+     * @throws JsonbException
+     *         if the format or buffer recycling strategy is unknown, the combination is not supported or the module
+     *         for the format is not on the classpath
+     */
+    private static JsonFactory createFactory(final String format, final String bufferRecycling) {
+
+        final boolean sharedBuffers;
+        switch (bufferRecycling) {
+            case BUFFER_RECYCLING_THREAD_LOCAL:
+                sharedBuffers = false;
+                break;
+            case BUFFER_RECYCLING_SHARED:
+                sharedBuffers = true;
+                break;
+            default:
+                throw new JsonbException("Unsupported buffer recycling " + bufferRecycling);
+        }
+        final String factoryClass;
+        switch (format) {
+            case FORMAT_JSON:
+                return sharedBuffers ? new SharedBufferJsonFactory(SHARED_BUFFER_SLOTS) : null;
+            case FORMAT_SMILE:
+                factoryClass = SMILE_FACTORY;
+                break;
+            case FORMAT_CBOR:
+                factoryClass = CBOR_FACTORY;
+                break;
+            default:
+                throw new JsonbException("Unsupported format " + format);
+        }
+        if (sharedBuffers) {
+            throw new JsonbException("Shared buffer recycling is not supported by format " + format);
+        }
+        return newInstance(factoryClass, JsonFactory.class).orElseThrow(
+                () -> new JsonbException("Format " + format + " requires " + factoryClass + " on the classpath"));
+    }
+
+    /**
+     * Looks up a module that replaces reflective property access with generated bytecode. Blackbird is only
+     * considered on Java 9 or later as it relies on the newer method handle API.
+     *
+     * @return the module or an empty optional if no such module is on the classpath
+     */
+    private static Optional<Module> findAccessorModule() {
+
+        final boolean java9OrLater = !System.getProperty("java.specification.version", "1.").startsWith("1.");
+        final List<String> candidates = java9OrLater
+                                        ? Arrays.asList(BLACKBIRD_MODULE, AFTERBURNER_MODULE)
+                                        : Collections.singletonList(AFTERBURNER_MODULE);
+        for (String moduleClass : candidates) {
+            final Optional<Module> module = newInstance(moduleClass, Module.class);
+            if (module.isPresent()) {
+                return module;
             }
         }
-        return new JacksonJsonb(mapper);
+        return Optional.empty();
+    }
+
+    /**
+     * Creates an instance of an optional class using its default constructor.
+     *
+     * @param className
+     *         the name of the class to instantiate
+     * @param type
+     *         the expected type of the instance
+     * @param <T>
+     *         the expected type of the instance
+     *
+     * @return the new instance or an empty optional if the class is not on the classpath or could not be
+     * instantiated
+     */
+    private static <T> Optional<T> newInstance(final String className, final Class<T> type) {
+
+        try {
+            return Optional.of(type.cast(Class.forName(className, true, getClassLoader()).newInstance()));
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Class<?> loadClass(final String className) {
+
+        try {
+            return Class.forName(className, false, getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("Could not load warm-up type " + className, e);
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : JacksonJsonbBuilder.class.getClassLoader();
+    }
+
+    /**
+     * Canonical form of the configuration settings that affect the mapper. Configurations that result in equal
+     * settings share the same mapper.
+     */
+    private static final class MapperSettings {
+
+        private final JsonInclude.Include inclusion;
+        private final boolean accessorOptimization;
+        private final String format;
+        private final String bufferRecycling;
+
+        MapperSettings(final JsonInclude.Include inclusion,
+                       final boolean accessorOptimization,
+                       final String format,
+                       final String bufferRecycling) {
+
+            this.inclusion = inclusion;
+            this.accessorOptimization = accessorOptimization;
+            this.format = format;
+            this.bufferRecycling = bufferRecycling;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final MapperSettings that = (MapperSettings) o;
+            return accessorOptimization == that.accessorOptimization
+                    && inclusion == that.inclusion
+                    && format.equals(that.format)
+                    && bufferRecycling.equals(that.bufferRecycling);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(inclusion, accessorOptimization, format, bufferRecycling);
+        }
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import javax.json.bind.JsonbException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Push-style feeder for binding a value from input that arrives in chunks, i.e. the body of a request in a reactive
+ * server. Each chunk is parsed as soon as it is fed, without blocking and without retaining the chunk, so that the
+ * caller may reuse it after the call. The parsed tokens are collected until the root value is complete and then
+ * bound to the target type, which completes the {@link #getResult() result}. Content after the root value is
+ * ignored.
+ * <br>
+ * A feeder is not thread-safe, chunks must be fed one after another, as guaranteed by a reactive streams publisher.
+ * Parse errors don't throw from the feeding methods but complete the result exceptionally with a
+ * {@link JsonbException}.
+ *
+ * @param <T>
+ *         the type of the bound value
+ */
+public final class JsonFeeder<T> {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ObjectReader reader;
+    private final Probe probe;
+    private final InputLimits limits;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private TokenBuffer tokens;
+    private int depth;
+    private long size;
+    private byte[] copyBuffer;
+
+    JsonFeeder(final JsonParser parser, final ObjectReader reader, final Probe probe, final InputLimits limits) {
+
+        this.parser = parser;
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.reader = reader;
+        this.probe = probe;
+        this.limits = limits;
+        this.tokens = new TokenBuffer(parser);
+    }
+
+    /**
+     * Feeds the remaining bytes of the chunk. The position of the buffer is advanced to its limit.
+     *
+     * @param chunk
+     *         the next chunk of the input
+     *
+     * @return this feeder
+     */
+    public JsonFeeder<T> feed(final ByteBuffer chunk) {
+
+        final int length = chunk.remaining();
+        if (chunk.hasArray()) {
+            feed(chunk.array(), chunk.arrayOffset() + chunk.position(), length);
+        } else {
+            if (copyBuffer == null || copyBuffer.length < length) {
+                copyBuffer = new byte[length];
+            }
+            chunk.duplicate().get(copyBuffer, 0, length);
+            feed(copyBuffer, 0, length);
+        }
+        chunk.position(chunk.limit());
+        return this;
+    }
+
+    /**
+     * Feeds the next chunk of the input.
+     *
+     * @param bytes
+     *         the array containing the chunk
+     * @param offset
+     *         the position of the first byte of the chunk in the array
+     * @param length
+     *         the number of bytes of the chunk
+     *
+     * @return this feeder
+     */
+    public JsonFeeder<T> feed(final byte[] bytes, final int offset, final int length) {
+
+        if (result.isDone() || length == 0) {
+            return this;
+        }
+        size += length;
+        try {
+            limits.checkSize(size);
+            feeder.feedInput(bytes, offset, offset + length);
+            parse();
+        } catch (IOException | RuntimeException e) {
+            fail(new JsonbException("Could not parse content", e));
+        }
+        return this;
+    }
+
+    /**
+     * Signals that all chunks have been fed. If the root value is not complete yet, the result is completed
+     * exceptionally.
+     */
+    public void endOfInput() {
+
+        if (result.isDone()) {
+            return;
+        }
+        feeder.endOfInput();
+        try {
+            parse();
+            if (!result.isDone()) {
+                fail(new JsonbException(depth == 0 ? "No content to bind" : "Unexpected end of content"));
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(new JsonbException("Could not parse content", e));
+        }
+    }
+
+    /**
+     * Aborts binding because the input could not be received, i.e. when the publisher of the chunks signals an
+     * error.
+     *
+     * @param failure
+     *         the reason for aborting
+     */
+    public void fail(final Throwable failure) {
+
+        if (result.completeExceptionally(failure)) {
+            Probe.fail(probe, failure);
+            finish();
+        }
+    }
+
+    /**
+     * @return the stage that is completed with the bound value once the root value has been fed completely
+     */
+    public CompletionStage<T> getResult() {
+
+        return result;
+    }
+
+    /**
+     * @return <code>true</code> if the value was bound or binding failed, further chunks are ignored
+     */
+    public boolean isDone() {
+
+        return result.isDone();
+    }
+
+    private void parse() throws IOException {
+
+        JsonToken token;
+        while (!result.isDone() && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            tokens.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == 0) {
+                bind();
+            }
+        }
+    }
+
+    private void bind() throws IOException {
+
+        final T value;
+        try (JsonParser tokenParser = tokens.asParser()) {
+            value = reader.readValue(tokenParser);
+        }
+        if (result.complete(value)) {
+            finish();
+        }
+    }
+
+    private void finish() {
+
+        this.tokens = null;
+        this.copyBuffer = null;
+        Probe.size(probe, size);
+        Probe.complete(probe);
+        try {
+            parser.close();
+        } catch (IOException e) {
+            //nothing to release for a non-blocking parser
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+/**
+ * Service provider interface for instrumenting a {@link JacksonJsonb} instance. The instrumentation is notified
+ * about every single-value <code>fromJson</code> and <code>toJson</code> operation, including the methods for byte
+ * arrays and buffers. It is registered using the {@link JacksonJsonbBuilder#INSTRUMENTATION} configuration property.
+ * If no instrumentation is registered, no events are created. The streaming methods for arrays and JSON Lines are not
+ * instrumented.
+ * <br>
+ * Implementations are invoked synchronously on the thread performing the operation and must be thread-safe.
+ * Exceptions thrown by an implementation are ignored.
+ *
+ * @see BindingStatistics
+ */
+@FunctionalInterface
+public interface JsonbInstrumentation {
+
+    /**
+     * Invoked after a binding operation has completed, either successfully or with a failure.
+     *
+     * @param event
+     *         the event describing the operation
+     */
+    void onEvent(BindingEvent event);
+}
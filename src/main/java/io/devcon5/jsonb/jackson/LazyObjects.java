@@ -0,0 +1,323 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import javax.json.bind.JsonbException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+/**
+ * Creates lazily materialized views of JSON objects for interface types. Creating a view scans the object once to
+ * record the offset of the value of each property of the interface, skipping the values without binding them. The
+ * value of a property is bound from its offset when its getter is first called and then retained. Properties of
+ * application-defined interface types are views themselves.
+ * <br>
+ * Views are backed by the original bytes, which must not be modified while views are in use. Views are read-only,
+ * methods other than the property getters, default methods and the methods of {@link Object} are not supported.
+ * Default methods, including default getters, are invoked on the view and are not bound from the JSON object.
+ */
+final class LazyObjects {
+
+    /**
+     * Marks properties that are bound to <code>null</code> or missing
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private final JsonFactory factory;
+    private final InputLimits limits;
+    private final TypeCache<LazyType> types;
+
+    LazyObjects(final ObjectMapper mapper, final int typeCacheSize, final InputLimits limits) {
+
+        this.factory = mapper.getFactory();
+        this.limits = limits;
+        this.types = new TypeCache<>(typeCacheSize, type -> new LazyType(mapper, (Class<?>) type));
+    }
+
+    /**
+     * Checks whether values of the type can be represented by views.
+     *
+     * @return <code>true</code> for interfaces of the application, but not for interfaces of the JDK, such as
+     * collections, or of Jackson
+     */
+    static boolean isLazy(final Class<?> type) {
+
+        return type.isInterface()
+                && !type.getName().startsWith("java.")
+                && !type.getName().startsWith("javax.")
+                && !TreeNode.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Creates a view of the JSON object that starts at the offset.
+     *
+     * @param bytes
+     *         the bytes containing the object
+     * @param offset
+     *         the offset of the object
+     * @param length
+     *         the number of bytes from the offset that may be read, the object may end before
+     * @param type
+     *         the interface type of the view
+     * @param <T>
+     *         the interface type of the view
+     *
+     * @return the view or <code>null</code> if the value at the offset is <code>null</code>
+     */
+    <T> T create(final byte[] bytes, final int offset, final int length, final Class<T> type) throws IOException {
+
+        final LazyType lazyType = types.get(type);
+        try (JsonParser parser = limits.apply(factory.createParser(bytes, offset, length))) {
+            final JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an object for type " + type.getName());
+            }
+            final int start = offset + (int) parser.getTokenLocation().getByteOffset();
+            final int[] starts = new int[lazyType.properties.length];
+            final int[] ends = new int[lazyType.properties.length];
+            Arrays.fill(starts, -1);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final Integer slot = lazyType.slots.get(parser.getCurrentName());
+                final JsonToken value = parser.nextToken();
+                final int valueStart = offset + (int) parser.getTokenLocation().getByteOffset();
+                parser.skipChildren();
+                if (slot != null) {
+                    starts[slot] = valueStart;
+                    //the content of strings is skipped only when the next token is read, so their end is unknown
+                    ends[slot] = value == JsonToken.VALUE_STRING
+                                 ? offset + length
+                                 : offset + (int) parser.getCurrentLocation().getByteOffset();
+                }
+            }
+            final int end = offset + (int) parser.getCurrentLocation().getByteOffset();
+            return type.cast(lazyType.newInstance(new View(lazyType, bytes, start, end, starts, ends)));
+        }
+    }
+
+    /**
+     * Properties of an interface type, the handles of its default methods and the constructor of its proxy class.
+     */
+    private static final class LazyType {
+
+        private final Class<?> type;
+        private final Constructor<?> constructor;
+        private final LazyProperty[] properties;
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final Map<Method, Integer> getters = new HashMap<>();
+        private final Map<Method, MethodHandle> defaultMethods = new HashMap<>();
+
+        LazyType(final ObjectMapper mapper, final Class<?> type) {
+
+            if (!type.isInterface()) {
+                throw new JsonbException("Lazy binding requires an interface type, but was " + type.getName());
+            }
+            this.type = type;
+            try {
+                this.constructor = Proxy.getProxyClass(type.getClassLoader(), type)
+                                        .getConstructor(InvocationHandler.class);
+            } catch (NoSuchMethodException e) {
+                throw new JsonbException("Could not create proxy for type " + type.getName(), e);
+            }
+            final JavaType javaType = mapper.getTypeFactory().constructType(type);
+            this.properties = mapper.getSerializationConfig()
+                                    .introspect(javaType)
+                                    .findProperties()
+                                    .stream()
+                                    .filter(BeanPropertyDefinition::hasGetter)
+                                    .filter(property -> !property.getGetter().getAnnotated().isDefault())
+                                    .map(property -> new LazyProperty(mapper, property.getName(), property.getGetter()))
+                                    .toArray(LazyProperty[]::new);
+            for (int i = 0; i < properties.length; i++) {
+                slots.put(properties[i].name, i);
+                getters.put(properties[i].getter, i);
+            }
+            for (Method method : type.getMethods()) {
+                if (method.isDefault()) {
+                    defaultMethods.put(method, unreflectDefault(method));
+                }
+            }
+        }
+
+        Object newInstance(final View view) {
+
+            try {
+                return constructor.newInstance(view);
+            } catch (ReflectiveOperationException e) {
+                throw new JsonbException("Could not create proxy for type " + type.getName(), e);
+            }
+        }
+
+        /**
+         * Creates a handle that invokes the default implementation of the method, bypassing the proxy. The lookup
+         * needs private access to the declaring interface, which is obtained by <code>privateLookupIn</code> on
+         * Java 9 and later and by the private constructor of the lookup on Java 8.
+         */
+        private static MethodHandle unreflectDefault(final Method method) {
+
+            final Class<?> declaringClass = method.getDeclaringClass();
+            try {
+                MethodHandles.Lookup lookup;
+                try {
+                    lookup = (MethodHandles.Lookup) MethodHandles.class
+                            .getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class)
+                            .invoke(null, declaringClass, MethodHandles.lookup());
+                } catch (NoSuchMethodException e) {
+                    final Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class
+                            .getDeclaredConstructor(Class.class, int.class);
+                    constructor.setAccessible(true);
+                    lookup = constructor.newInstance(declaringClass, MethodHandles.Lookup.PRIVATE);
+                }
+                return lookup.unreflectSpecial(method, declaringClass);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new JsonbException("Could not access default method " + method.getName() + " of type "
+                                                 + declaringClass.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * A property of an interface type and how its value is bound.
+     */
+    private static final class LazyProperty {
+
+        private final String name;
+        private final Method getter;
+        private final Class<?> lazyType;
+        private final ObjectReader reader;
+        private final Object defaultValue;
+
+        LazyProperty(final ObjectMapper mapper, final String name, final AnnotatedMethod getter) {
+
+            this.name = name;
+            this.getter = getter.getAnnotated();
+            final JavaType type = getter.getType();
+            this.lazyType = isLazy(type.getRawClass()) ? type.getRawClass() : null;
+            this.reader = lazyType != null
+                          ? null
+                          : mapper.readerFor(type).without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+            this.defaultValue = type.isPrimitive() ? ClassUtil.defaultValue(type.getRawClass()) : null;
+        }
+    }
+
+    /**
+     * Invocation handler of a view, which holds the offsets of the property values and the values that are already
+     * bound. The end offset of a value is the end of the input if it is not known.
+     */
+    private final class View implements InvocationHandler {
+
+        private final LazyType type;
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+        private final int[] starts;
+        private final int[] ends;
+        private final AtomicReferenceArray<Object> values;
+
+        View(final LazyType type,
+             final byte[] bytes,
+             final int start,
+             final int end,
+             final int[] starts,
+             final int[] ends) {
+
+            this.type = type;
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+            this.starts = starts;
+            this.ends = ends;
+            this.values = new AtomicReferenceArray<>(starts.length);
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+
+            final Integer slot = type.getters.get(method);
+            if (slot != null) {
+                return get(slot);
+            }
+            final MethodHandle defaultMethod = type.defaultMethods.get(method);
+            if (defaultMethod != null) {
+                return defaultMethod.bindTo(proxy).invokeWithArguments(args != null ? args : new Object[0]);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                }
+            }
+            throw new UnsupportedOperationException("Method " + method.getName() + " of lazily bound type "
+                                                            + type.type.getName() + " is not supported");
+        }
+
+        private Object get(final int slot) {
+
+            Object value = values.get(slot);
+            if (value == null) {
+                value = bind(type.properties[slot], starts[slot], ends[slot]);
+                if (!values.compareAndSet(slot, null, value != null ? value : NULL_VALUE)) {
+                    value = values.get(slot);
+                }
+            }
+            return value == null || value == NULL_VALUE ? type.properties[slot].defaultValue : value;
+        }
+
+        private Object bind(final LazyProperty property, final int offset, final int limit) {
+
+            if (offset < 0) {
+                return null;
+            }
+            try {
+                return property.lazyType != null
+                       ? create(bytes, offset, limit - offset, property.lazyType)
+                       : property.reader.readValue(bytes, offset, limit - offset);
+            } catch (IOException e) {
+                throw new JsonbException("Could not bind property " + property.name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.NonBlockingInputFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+/**
+ * Parser that checks every token against the structural {@link InputLimits} and fails as soon as a limit is
+ * exceeded, before the value of the token is bound.
+ */
+final class LimitingJsonParser extends JsonParserDelegate {
+
+    private final InputLimits limits;
+    private int depth;
+    private int[] counts = new int[16];
+    private boolean[] arrays = new boolean[16];
+
+    LimitingJsonParser(final JsonParser parser, final InputLimits limits) {
+
+        super(parser);
+        this.limits = limits;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+
+        final JsonToken token = delegate.nextToken();
+        if (token == null || token == JsonToken.NOT_AVAILABLE) {
+            return token;
+        }
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY:
+                countElement();
+                enter(token == JsonToken.START_ARRAY);
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                break;
+            case FIELD_NAME:
+                count();
+                checkLength(limits.getMaxStringLength(), "Property name");
+                break;
+            case VALUE_STRING:
+                countElement();
+                checkLength(limits.getMaxStringLength(), "String");
+                break;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                countElement();
+                checkLength(limits.getMaxNumberLength(), "Number");
+                break;
+            default:
+                countElement();
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+
+        final JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    /**
+     * Skips the children token by token, so that the limits are also enforced for skipped content.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException {
+
+        final JsonToken token = delegate.getCurrentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return this;
+        }
+        int open = 1;
+        while (open > 0) {
+            final JsonToken next = nextToken();
+            if (next == null) {
+                return this;
+            }
+            if (next.isStructStart()) {
+                open++;
+            } else if (next.isStructEnd()) {
+                open--;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NonBlockingInputFeeder getNonBlockingInputFeeder() {
+
+        return delegate.getNonBlockingInputFeeder();
+    }
+
+    private void enter(final boolean array) throws JsonParseException {
+
+        if (++depth > limits.getMaxNestingDepth()) {
+            throw new JsonParseException(this, "Nesting depth exceeds the maximum of " + limits.getMaxNestingDepth());
+        }
+        if (depth == counts.length) {
+            counts = Arrays.copyOf(counts, depth * 2);
+            arrays = Arrays.copyOf(arrays, depth * 2);
+        }
+        counts[depth] = 0;
+        arrays[depth] = array;
+    }
+
+    /**
+     * Counts a value if it is an array element, values of object properties are counted by their name.
+     */
+    private void countElement() throws JsonParseException {
+
+        if (arrays[depth]) {
+            count();
+        }
+    }
+
+    private void count() throws JsonParseException {
+
+        if (depth > 0 && ++counts[depth] > limits.getMaxCollectionSize()) {
+            throw new JsonParseException(this,
+                                         "Number of elements exceeds the maximum of "
+                                                 + limits.getMaxCollectionSize());
+        }
+    }
+
+    private void checkLength(final int maxLength, final String kind) throws IOException {
+
+        if (maxLength != Integer.MAX_VALUE && delegate.getTextLength() > maxLength) {
+            throw new JsonParseException(this, kind + " exceeds the maximum length of " + maxLength);
+        }
+    }
+}
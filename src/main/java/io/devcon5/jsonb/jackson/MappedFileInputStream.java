@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Input stream that maps a file into memory and reads from the mapped regions, so that the data is copied from the
+ * page cache without a read system call per buffer. Files larger than a mapped region, which is limited to 2 GB, are
+ * mapped in consecutive regions, each of which is mapped when the previous one has been read. The channel is not
+ * closed when the stream is closed.
+ */
+final class MappedFileInputStream extends InputStream {
+
+    /**
+     * Maximum size of a mapped region in bytes
+     */
+    static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final FileChannel channel;
+    private final long size;
+    private final long regionSize;
+    private long position;
+    private ByteBuffer region = EMPTY;
+
+    MappedFileInputStream(final FileChannel channel, final long size) {
+
+        this(channel, size, MAX_REGION_SIZE);
+    }
+
+    MappedFileInputStream(final FileChannel channel, final long size, final long regionSize) {
+
+        this.channel = channel;
+        this.size = size;
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        if (!nextRegion()) {
+            return -1;
+        }
+        return region.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextRegion()) {
+            return -1;
+        }
+        final int count = Math.min(len, region.remaining());
+        region.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+
+        return region.remaining();
+    }
+
+    /**
+     * Maps the next region of the file if the current one has been read.
+     *
+     * @return <code>true</code> if there are bytes left to read
+     */
+    private boolean nextRegion() throws IOException {
+
+        if (region.hasRemaining()) {
+            return true;
+        }
+        if (position >= size) {
+            return false;
+        }
+        final long length = Math.min(regionSize, size - position);
+        region = channel.map(MapMode.READ_ONLY, position, length);
+        position += length;
+        return true;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+
+/**
+ * A mapper and the variants of it that are derived for specific operations. The variants are copies of the mapper
+ * that are created on first use and retained, so that all instances sharing the mapper also share the serializers
+ * and deserializers built by its variants.
+ */
+final class Mappers {
+
+    private final ObjectMapper mapper;
+    private volatile ObjectMapper merging;
+    private volatile ObjectMapper canonical;
+
+    Mappers(final ObjectMapper mapper) {
+
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return the mapper used for binding
+     */
+    ObjectMapper mapper() {
+
+        return mapper;
+    }
+
+    /**
+     * @return a copy of the mapper on which all properties are mergeable, except for collections, maps and arrays
+     * that are replaced unless they are explicitly marked as mergeable
+     */
+    ObjectMapper merging() {
+
+        ObjectMapper result = merging;
+        if (result == null) {
+            synchronized (this) {
+                result = merging;
+                if (result == null) {
+                    result = mapper.copy().setDefaultMergeable(Boolean.TRUE);
+                    result.setAnnotationIntrospector(AnnotationIntrospector.pair(result.getDeserializationConfig()
+                                                                                       .getAnnotationIntrospector(),
+                                                                                 new ReplacingContainers()));
+                    merging = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a copy of the mapper that sorts properties and map entries by name
+     */
+    ObjectMapper canonical() {
+
+        ObjectMapper result = canonical;
+        if (result == null) {
+            synchronized (this) {
+                result = canonical;
+                if (result == null) {
+                    result = mapper.copy()
+                                   .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                                   .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+                    canonical = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks properties of collection, map and array types as not mergeable, so that merging the same data repeatedly
+     * does not append to them. It is paired as secondary introspector, so explicit merge annotations take precedence.
+     */
+    private static final class ReplacingContainers extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Boolean findMergeInfo(final Annotated a) {
+
+            final Class<?> type;
+            if (a instanceof AnnotatedMethod && ((AnnotatedMethod) a).getParameterCount() == 1) {
+                type = ((AnnotatedMethod) a).getRawParameterType(0);
+            } else {
+                type = a.getRawType();
+            }
+            if (type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                return Boolean.FALSE;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache for the serialized output of immutable or versioned objects, so that objects that are written
+ * repeatedly are encoded only once. Only objects of registered types are cached, identified by a key that is derived
+ * from the object, i.e. its id and version, together with the class of the object and the type it is serialized as.
+ * The key must change whenever the serialized output of the object changes. Objects for which the key function
+ * returns <code>null</code> are not cached.
+ * <br>
+ * The cache is divided into segments with an equal share of the maximum size, each segment evicts its least
+ * recently used entries when its share is exceeded. Output that is larger than the share of a segment is not cached.
+ * As the output depends on the configuration of the {@link JacksonJsonb} instance, a cache must not be shared by
+ * differently configured instances.
+ * <br>
+ * Example:
+ * <pre><code>
+ *     OutputCache cache = new OutputCache(64 * 1024 * 1024)
+ *             .cache(Product.class, product -&gt; product.getId() + ":" + product.getVersion());
+ *     Jsonb jsonb = JsonbBuilder.create(new JsonbConfig().setProperty(JacksonJsonbBuilder.OUTPUT_CACHE, cache));
+ *     ...
+ *     cache.getHitRatio();
+ * </code></pre>
+ */
+public final class OutputCache {
+
+    /**
+     * Default number of segments
+     */
+    static final int DEFAULT_SEGMENTS = 16;
+
+    private static final Function<Object, ?> NOT_CACHEABLE = o -> null;
+
+    private final long maxBytes;
+    private final Segment[] segments;
+    private final ConcurrentMap<Class<?>, Function<Object, ?>> keyFunctions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Function<Object, ?>> resolved = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong memoryUsage = new AtomicLong();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxBytes
+     *         the maximum number of bytes of serialized output that is retained
+     */
+    public OutputCache(final long maxBytes) {
+
+        this(maxBytes, DEFAULT_SEGMENTS);
+    }
+
+    OutputCache(final long maxBytes, final int segments) {
+
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (Integer.bitCount(segments) != 1) {
+            throw new IllegalArgumentException("Number of segments must be a power of two");
+        }
+        this.maxBytes = maxBytes;
+        this.segments = new Segment[segments];
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment(Math.max(1, maxBytes / segments));
+        }
+    }
+
+    /**
+     * Registers a type whose serialized output is cached. The registration applies to subtypes as well.
+     *
+     * @param type
+     *         the type of the cacheable objects
+     * @param keyFunction
+     *         function that provides the key of an object, i.e. its id and version. Objects for which it returns
+     *         <code>null</code> are not cached
+     * @param <T>
+     *         the type of the cacheable objects
+     *
+     * @return this cache
+     */
+    @SuppressWarnings("unchecked")
+    public <T> OutputCache cache(final Class<T> type, final Function<? super T, ?> keyFunction) {
+
+        keyFunctions.put(type, (Function<Object, ?>) Objects.requireNonNull(keyFunction));
+        resolved.clear();
+        return this;
+    }
+
+    /**
+     * Provides the serialized output of an object from the cache, encoding and caching it if it is not yet cached.
+     *
+     * @param value
+     *         the object to serialize
+     * @param type
+     *         the type the object is serialized as
+     * @param encoder
+     *         encodes the object on a cache miss
+     *
+     * @return the serialized output, which must not be modified, or <code>null</code> if the object is not cacheable
+     */
+    byte[] get(final Object value, final Type type, final Encoder encoder) throws IOException {
+
+        final Object id = keyFunction(value.getClass()).apply(value);
+        if (id == null) {
+            return null;
+        }
+        final Key key = new Key(type, value.getClass(), id);
+        final int hash = key.hashCode();
+        final Segment segment = segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+        byte[] output = segment.get(key);
+        if (output != null) {
+            hits.increment();
+            return output;
+        }
+        misses.increment();
+        output = encoder.encode();
+        segment.put(key, output);
+        return output;
+    }
+
+    private Function<Object, ?> keyFunction(final Class<?> type) {
+
+        Function<Object, ?> keyFunction = resolved.get(type);
+        if (keyFunction == null) {
+            keyFunction = resolve(type);
+            resolved.put(type, keyFunction);
+        }
+        return keyFunction;
+    }
+
+    private Function<Object, ?> resolve(final Class<?> type) {
+
+        if (type == null) {
+            return NOT_CACHEABLE;
+        }
+        final Function<Object, ?> keyFunction = keyFunctions.get(type);
+        if (keyFunction != null) {
+            return keyFunction;
+        }
+        for (Class<?> iface : type.getInterfaces()) {
+            final Function<Object, ?> ifaceFunction = resolve(iface);
+            if (ifaceFunction != NOT_CACHEABLE) {
+                return ifaceFunction;
+            }
+        }
+        return resolve(type.getSuperclass());
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void invalidateAll() {
+
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return the number of serializations that were served from the cache
+     */
+    public long getHits() {
+
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of serializations of cacheable objects that were not cached
+     */
+    public long getMisses() {
+
+        return misses.sum();
+    }
+
+    /**
+     * @return the ratio of hits to all serializations of cacheable objects, <code>0</code> if there were none
+     */
+    public double getHitRatio() {
+
+        final long h = hits.sum();
+        final long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * @return the number of entries that were removed to make room for new entries
+     */
+    public long getEvictions() {
+
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of bytes of the cached output
+     */
+    public long getMemoryUsage() {
+
+        return memoryUsage.get();
+    }
+
+    /**
+     * @return the maximum number of bytes of the cached output
+     */
+    public long getMaxBytes() {
+
+        return maxBytes;
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public int size() {
+
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Encodes an object on a cache miss.
+     */
+    @FunctionalInterface
+    interface Encoder {
+
+        byte[] encode() throws IOException;
+    }
+
+    /**
+     * Segment of the cache with LRU eviction.
+     */
+    private final class Segment {
+
+        private final long maxBytes;
+        private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+
+        Segment(final long maxBytes) {
+
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized byte[] get(final Key key) {
+
+            return entries.get(key);
+        }
+
+        synchronized void put(final Key key, final byte[] output) {
+
+            if (output.length > maxBytes) {
+                return;
+            }
+            final byte[] replaced = entries.put(key, output);
+            long delta = output.length - (replaced != null ? replaced.length : 0);
+            final Iterator<Map.Entry<Key, byte[]>> eldest = entries.entrySet().iterator();
+            while (bytes + delta > maxBytes) {
+                final int evicted = eldest.next().getValue().length;
+                eldest.remove();
+                delta -= evicted;
+                evictions.increment();
+            }
+            bytes += delta;
+            memoryUsage.addAndGet(delta);
+        }
+
+        synchronized void clear() {
+
+            entries.clear();
+            memoryUsage.addAndGet(-bytes);
+            bytes = 0;
+        }
+
+        synchronized int size() {
+
+            return entries.size();
+        }
+    }
+
+    /**
+     * Key of a cached output. It contains the runtime class of the object besides the type it is serialized as, as
+     * objects of different subtypes with equal ids are serialized differently.
+     */
+    private static final class Key {
+
+        private final Type type;
+        private final Class<?> runtimeClass;
+        private final Object id;
+
+        Key(final Type type, final Class<?> runtimeClass, final Object id) {
+
+            this.type = type;
+            this.runtimeClass = runtimeClass;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return type.equals(key.type) && runtimeClass == key.runtimeClass && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return 31 * (31 * type.hashCode() + runtimeClass.hashCode()) + id.hashCode();
+        }
+    }
+}
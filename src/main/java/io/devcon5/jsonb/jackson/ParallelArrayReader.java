@@ -0,0 +1,373 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Binds the elements of a top-level JSON array in parallel. The input is split into element-aligned byte ranges by
+ * a lightweight scan that only tracks strings and nesting, and each range is parsed and bound as a task of a
+ * {@link ForkJoinPool}. The results of the tasks are concatenated in input order.
+ * <br>
+ * Input streams are read sequentially into chunks while the previous chunks are bound, the number of chunks that
+ * are read ahead is limited to twice the parallelism of the pool.
+ *
+ * @param <T>
+ *         the type of the array elements
+ */
+final class ParallelArrayReader<T> {
+
+    /**
+     * Maximum number of bytes of a chunk that is bound by a single task
+     */
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * Minimum number of bytes of a chunk, smaller ranges are not worth a task of their own
+     */
+    static final int MIN_CHUNK_SIZE = 16 * 1024;
+
+    private final JsonFactory factory;
+    private final ObjectReader reader;
+    private final ForkJoinPool pool;
+    private final InputLimits limits;
+    private final Deque<ForkJoinTask<List<T>>> pending = new ArrayDeque<>();
+    private final List<T> result = new ArrayList<>();
+
+    ParallelArrayReader(final JsonFactory factory,
+                        final ObjectReader reader,
+                        final ForkJoinPool pool,
+                        final InputLimits limits) {
+
+        this.factory = factory;
+        this.reader = reader;
+        this.pool = pool;
+        this.limits = limits;
+    }
+
+    /**
+     * Binds the elements of the array in a range of the byte array.
+     *
+     * @return the elements in input order
+     */
+    List<T> read(final byte[] bytes, final int offset, final int length) throws IOException {
+
+        final int chunkSize = Math.min(CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, length / (4 * pool.getParallelism())));
+        final Scanner scanner = new Scanner(limits);
+        final int end = offset + length;
+        try {
+            int contentStart = -1;
+            for (int pos = offset; pos < end; pos += chunkSize) {
+                final int separator = scanner.scan(bytes, pos, Math.min(pos + chunkSize, end));
+                if (contentStart < 0 && scanner.isStarted()) {
+                    contentStart = scanner.getContentStart();
+                }
+                if (separator >= contentStart && contentStart >= 0) {
+                    submit(bytes, contentStart, separator - contentStart);
+                    contentStart = separator + 1;
+                }
+            }
+            scanner.requireComplete();
+            return drain(0);
+        } finally {
+            cancel();
+        }
+    }
+
+    /**
+     * Binds the elements of the array read from the input stream. The stream is not closed.
+     *
+     * @return the elements in input order
+     */
+    List<T> read(final InputStream inputStream) throws IOException {
+
+        final int maxPending = 2 * pool.getParallelism();
+        final Scanner scanner = new Scanner(limits);
+        try {
+            byte[] buffer = new byte[CHUNK_SIZE];
+            int filled = 0;
+            int contentStart = -1;
+            int lastSeparator = -1;
+            int read;
+            while ((read = inputStream.read(buffer, filled, buffer.length - filled)) >= 0) {
+                final int separator = scanner.scan(buffer, filled, filled + read);
+                filled += read;
+                if (contentStart < 0 && scanner.isStarted()) {
+                    contentStart = scanner.getContentStart();
+                }
+                if (separator >= 0) {
+                    lastSeparator = separator;
+                }
+                if (filled < buffer.length) {
+                    continue;
+                }
+                if (contentStart < 0) {
+                    //only whitespace before the array
+                    filled = 0;
+                } else if (lastSeparator >= contentStart) {
+                    //hand the complete elements over and continue with the remainder in a new buffer
+                    submit(buffer, contentStart, lastSeparator - contentStart);
+                    final byte[] next = new byte[CHUNK_SIZE];
+                    filled -= lastSeparator + 1;
+                    System.arraycopy(buffer, lastSeparator + 1, next, 0, filled);
+                    buffer = next;
+                    contentStart = 0;
+                    lastSeparator = -1;
+                    drain(maxPending);
+                } else {
+                    //a single element that is larger than the buffer
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            scanner.requireComplete();
+            if (lastSeparator >= contentStart) {
+                submit(buffer, contentStart, lastSeparator - contentStart);
+            }
+            return drain(0);
+        } finally {
+            cancel();
+        }
+    }
+
+    private void submit(final byte[] bytes, final int offset, final int length) {
+
+        pending.add(pool.submit(() -> bind(bytes, offset, length)));
+    }
+
+    /**
+     * Binds the comma separated elements in a range of the byte array by parsing them as an array of their own.
+     */
+    private List<T> bind(final byte[] bytes, final int offset, final int length) {
+
+        final List<T> elements = new ArrayList<>();
+        try (JsonParser parser = limits.apply(factory.createParser(new ChunkInputStream(bytes, offset, length)))) {
+            parser.nextToken();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                elements.add(reader.readValue(parser));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return elements;
+    }
+
+    /**
+     * Collects the results of the oldest tasks until no more than the given number of tasks is pending.
+     */
+    private List<T> drain(final int maxPending) throws IOException {
+
+        while (pending.size() > maxPending) {
+            try {
+                result.addAll(pending.poll().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while binding elements", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+        return result;
+    }
+
+    private void cancel() {
+
+        pending.forEach(task -> task.cancel(false));
+        pending.clear();
+    }
+
+    /**
+     * Tracks the structure of the top-level array across consecutive ranges of bytes to find the separators of its
+     * elements. The scan relies on all structural characters being single bytes in UTF-8, the validity of the
+     * elements is left to the parser.
+     */
+    static final class Scanner {
+
+        private final InputLimits limits;
+        private int depth;
+        private boolean started;
+        private boolean complete;
+        private boolean inString;
+        private boolean escaped;
+        private boolean valueSeen;
+        private int contentStart;
+        private long elements;
+
+        Scanner(final InputLimits limits) {
+
+            this.limits = limits;
+        }
+
+        /**
+         * Scans the next range of bytes.
+         *
+         * @return the position of the last element separator in the range, that is the opening bracket, a top-level
+         * comma or the closing bracket, or <code>-1</code> if there is none
+         */
+        int scan(final byte[] bytes, final int from, final int to) throws JsonParseException {
+
+            int separator = -1;
+            for (int i = from; i < to; i++) {
+                final byte c = bytes[i];
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                    continue;
+                } else if (complete) {
+                    throw new JsonParseException(null, "Unexpected content after the end of the array");
+                } else if (!started) {
+                    if (c != '[') {
+                        throw new JsonParseException(null, "Expected a JSON array");
+                    }
+                    started = true;
+                    depth = 1;
+                    contentStart = i + 1;
+                    separator = i;
+                } else if (c == '"') {
+                    inString = true;
+                    valueSeen = true;
+                } else if (c == '[' || c == '{') {
+                    depth++;
+                    valueSeen = true;
+                } else if (c == ']' || c == '}') {
+                    if (--depth == 0) {
+                        if (c != ']') {
+                            throw new JsonParseException(null, "Unexpected character '}' at the end of the array");
+                        }
+                        endElement(c);
+                        complete = true;
+                        separator = i;
+                    }
+                } else if (c == ',' && depth == 1) {
+                    endElement(c);
+                    separator = i;
+                } else {
+                    valueSeen = true;
+                }
+            }
+            return separator;
+        }
+
+        private void endElement(final byte separator) throws JsonParseException {
+
+            if (valueSeen) {
+                if (++elements > limits.getMaxCollectionSize()) {
+                    throw new JsonParseException(null,
+                                                 "Number of elements exceeds the maximum of "
+                                                         + limits.getMaxCollectionSize());
+                }
+            } else if (separator == ',' || elements > 0) {
+                throw new JsonParseException(null, "Missing array element before '" + (char) separator + "'");
+            }
+            valueSeen = false;
+        }
+
+        boolean isStarted() {
+
+            return started;
+        }
+
+        /**
+         * @return the position after the opening bracket
+         */
+        int getContentStart() {
+
+            return contentStart;
+        }
+
+        void requireComplete() throws JsonParseException {
+
+            if (!complete) {
+                throw new JsonParseException(null, "Unexpected end of input, the array is not closed");
+            }
+        }
+    }
+
+    /**
+     * Presents a range of comma separated elements as a JSON array.
+     */
+    static final class ChunkInputStream extends InputStream {
+
+        private final byte[] bytes;
+        private final int end;
+        private int pos;
+        private int state;
+
+        ChunkInputStream(final byte[] bytes, final int offset, final int length) {
+
+            this.bytes = bytes;
+            this.pos = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+
+            if (len == 0) {
+                return 0;
+            }
+            switch (state) {
+                case 0:
+                    state = 1;
+                    b[off] = '[';
+                    return 1;
+                case 1:
+                    final int n = Math.min(len, end - pos);
+                    if (n > 0) {
+                        System.arraycopy(bytes, pos, b, off, n);
+                        pos += n;
+                        return n;
+                    }
+                    state = 2;
+                    b[off] = ']';
+                    return 1;
+                default:
+                    return -1;
+            }
+        }
+    }
+}
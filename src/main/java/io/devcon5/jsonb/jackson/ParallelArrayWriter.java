@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the elements of a list as JSON array, encoding sub-ranges of the list in parallel. Each sub-range is
+ * written as array of its own into a buffer by a task of a {@link ForkJoinPool}, the buffers are then written to
+ * the output in list order without their brackets and joined by commas. As the elements are written by the same
+ * writer as in a sequential array, the output is identical to the sequential output for compact, unwrapped JSON.
+ * <br>
+ * The number of encoded ranges that are not yet written is limited to twice the parallelism of the pool, and their
+ * buffers are reused for the following ranges.
+ */
+final class ParallelArrayWriter {
+
+    /**
+     * Maximum number of elements of a range that is encoded by a single task
+     */
+    static final int MAX_CHUNK_ELEMENTS = 1024;
+
+    /**
+     * Minimum number of elements of a range that is encoded by a single task
+     */
+    static final int MIN_CHUNK_ELEMENTS = 16;
+
+    private final JsonFactory factory;
+    private final ObjectWriter writer;
+    private final ForkJoinPool pool;
+    private final Deque<ForkJoinTask<ChunkBuffer>> pending = new ArrayDeque<>();
+    private final ConcurrentLinkedQueue<ChunkBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    ParallelArrayWriter(final JsonFactory factory, final ObjectWriter writer, final ForkJoinPool pool) {
+
+        this.factory = factory;
+        this.writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.pool = pool;
+    }
+
+    /**
+     * @return <code>true</code> if a list of the given size is large enough that each thread of the pool gets several
+     * tasks of at least the minimum number of elements, otherwise it is written faster sequentially
+     */
+    static boolean isParallelizable(final int size, final ForkJoinPool pool) {
+
+        return size >= 4 * pool.getParallelism() * MIN_CHUNK_ELEMENTS;
+    }
+
+    /**
+     * Number of elements per task for a list of the given size, so that each thread of the pool gets several tasks.
+     */
+    static int chunkSize(final int size, final ForkJoinPool pool) {
+
+        return Math.max(MIN_CHUNK_ELEMENTS, Math.min(MAX_CHUNK_ELEMENTS, size / (4 * pool.getParallelism())));
+    }
+
+    /**
+     * Writes the elements as JSON array to the output stream. The stream is not closed.
+     */
+    void write(final List<?> elements, final OutputStream outputStream) throws IOException {
+
+        final int chunkSize = chunkSize(elements.size(), pool);
+        final int maxPending = 2 * pool.getParallelism();
+        try {
+            outputStream.write('[');
+            boolean first = true;
+            for (int from = 0; from < elements.size(); from += chunkSize) {
+                final List<?> range = elements.subList(from, Math.min(from + chunkSize, elements.size()));
+                pending.add(pool.submit(() -> encode(range)));
+                while (pending.size() > maxPending) {
+                    writeNext(outputStream, first);
+                    first = false;
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeNext(outputStream, first);
+                first = false;
+            }
+            outputStream.write(']');
+        } finally {
+            pending.forEach(task -> task.cancel(false));
+            pending.clear();
+        }
+    }
+
+    private ChunkBuffer encode(final List<?> range) {
+
+        ChunkBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new ChunkBuffer();
+        }
+        try (JsonGenerator generator = factory.createGenerator(buffer)) {
+            generator.writeStartArray();
+            for (Object element : range) {
+                writer.writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes the content of the oldest range and returns its buffer for reuse.
+     */
+    private void writeNext(final OutputStream outputStream, final boolean first) throws IOException {
+
+        final ChunkBuffer buffer;
+        try {
+            buffer = pending.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while serializing elements", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        if (!first) {
+            outputStream.write(',');
+        }
+        buffer.writeContentTo(outputStream);
+        buffer.reset();
+        buffers.add(buffer);
+    }
+
+    /**
+     * Buffer of an encoded range that gives access to its content without copying.
+     */
+    static final class ChunkBuffer extends ByteArrayOutputStream {
+
+        /**
+         * Writes the content without the enclosing brackets of the array.
+         */
+        void writeContentTo(final OutputStream outputStream) throws IOException {
+
+            outputStream.write(buf, 1, count - 2);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import javax.json.bind.JsonbException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.FilterReader;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * Measures a single binding operation and reports it to the instrumentation once completed. All static methods
+ * accept a <code>null</code> probe, which is used when no instrumentation is registered, so that the operations
+ * don't need to distinguish between instrumented and non-instrumented invocations.
+ */
+final class Probe {
+
+    private final JsonbInstrumentation instrumentation;
+    private final BindingEvent.Operation operation;
+    private final Type type;
+    private final BindingEvent.Flavor flavor;
+    private final long start;
+    private long size;
+    private Throwable failure;
+
+    private Probe(final JsonbInstrumentation instrumentation,
+                  final BindingEvent.Operation operation,
+                  final Type type,
+                  final BindingEvent.Flavor flavor,
+                  final long size) {
+
+        this.instrumentation = instrumentation;
+        this.operation = operation;
+        this.type = type;
+        this.flavor = flavor;
+        this.size = size;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring an operation.
+     *
+     * @param instrumentation
+     *         the instrumentation to report to, may be <code>null</code>
+     * @param operation
+     *         the direction of the operation
+     * @param type
+     *         the type that is read or written
+     * @param flavor
+     *         the kind of input or output
+     * @param size
+     *         the size of the input or output, if known in advance, otherwise <code>0</code>
+     *
+     * @return the probe or <code>null</code> if the instrumentation was <code>null</code>
+     */
+    static Probe start(final JsonbInstrumentation instrumentation,
+                       final BindingEvent.Operation operation,
+                       final Type type,
+                       final BindingEvent.Flavor flavor,
+                       final long size) {
+
+        return instrumentation == null ? null : new Probe(instrumentation, operation, type, flavor, size);
+    }
+
+    /**
+     * Runs a binding operation measured by a new probe. Any failure of the operation is recorded, I/O errors are
+     * thrown as the {@link JsonbException} created by the error mapping.
+     *
+     * @param instrumentation
+     *         the instrumentation to report to, may be <code>null</code>
+     * @param operation
+     *         the direction of the operation
+     * @param type
+     *         the type that is read or written
+     * @param flavor
+     *         the kind of input or output
+     * @param size
+     *         the size of the input or output, if known in advance, otherwise <code>0</code>
+     * @param errors
+     *         creates the exception that is thrown for an I/O error of the operation
+     * @param binding
+     *         the operation, which receives the probe to count the input or output or to set its size
+     *
+     * @return the result of the operation
+     */
+    static <T> T measure(final JsonbInstrumentation instrumentation,
+                         final BindingEvent.Operation operation,
+                         final Type type,
+                         final BindingEvent.Flavor flavor,
+                         final long size,
+                         final Function<IOException, JsonbException> errors,
+                         final Binding<T> binding) {
+
+        final Probe probe = start(instrumentation, operation, type, flavor, size);
+        try {
+            return binding.run(probe);
+        } catch (IOException e) {
+            throw fail(probe, errors.apply(e));
+        } catch (RuntimeException | Error e) {
+            fail(probe, e);
+            throw e;
+        } finally {
+            complete(probe);
+        }
+    }
+
+    static void size(final Probe probe, final long size) {
+
+        if (probe != null) {
+            probe.size = size;
+        }
+    }
+
+    static <E extends Throwable> E fail(final Probe probe, final E failure) {
+
+        if (probe != null) {
+            probe.failure = failure;
+        }
+        return failure;
+    }
+
+    static void complete(final Probe probe) {
+
+        if (probe != null) {
+            try {
+                probe.instrumentation.onEvent(new BindingEvent(probe.operation,
+                                                               probe.type,
+                                                               probe.flavor,
+                                                               probe.size,
+                                                               System.nanoTime() - probe.start,
+                                                               probe.failure));
+            } catch (RuntimeException e) {
+                //instrumentation must not affect the binding operation
+            }
+        }
+    }
+
+    static InputStream count(final Probe probe, final InputStream inputStream) {
+
+        if (probe == null) {
+            return inputStream;
+        }
+        return new FilterInputStream(inputStream) {
+
+            @Override
+            public int read() throws IOException {
+
+                final int b = super.read();
+                if (b >= 0) {
+                    probe.size++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+
+                final int read = super.read(b, off, len);
+                if (read > 0) {
+                    probe.size += read;
+                }
+                return read;
+            }
+        };
+    }
+
+    static OutputStream count(final Probe probe, final OutputStream outputStream) {
+
+        if (probe == null) {
+            return outputStream;
+        }
+        return new FilterOutputStream(outputStream) {
+
+            @Override
+            public void write(final int b) throws IOException {
+
+                out.write(b);
+                probe.size++;
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+
+                out.write(b, off, len);
+                probe.size += len;
+            }
+        };
+    }
+
+    static Reader count(final Probe probe, final Reader reader) {
+
+        if (probe == null) {
+            return reader;
+        }
+        return new FilterReader(reader) {
+
+            @Override
+            public int read() throws IOException {
+
+                final int c = super.read();
+                if (c >= 0) {
+                    probe.size++;
+                }
+                return c;
+            }
+
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) throws IOException {
+
+                final int read = super.read(cbuf, off, len);
+                if (read > 0) {
+                    probe.size += read;
+                }
+                return read;
+            }
+        };
+    }
+
+    static Writer count(final Probe probe, final Writer writer) {
+
+        if (probe == null) {
+            return writer;
+        }
+        return new FilterWriter(writer) {
+
+            @Override
+            public void write(final int c) throws IOException {
+
+                super.write(c);
+                probe.size++;
+            }
+
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) throws IOException {
+
+                super.write(cbuf, off, len);
+                probe.size += len;
+            }
+
+            @Override
+            public void write(final String str, final int off, final int len) throws IOException {
+
+                super.write(str, off, len);
+                probe.size += len;
+            }
+        };
+    }
+
+    /**
+     * A binding operation that is measured by a probe.
+     *
+     * @param <T>
+     *         the type of the result of the operation
+     */
+    @FunctionalInterface
+    interface Binding<T> {
+
+        /**
+         * @param probe
+         *         the probe measuring the operation, may be <code>null</code>
+         *
+         * @return the result of the operation
+         */
+        T run(Probe probe) throws IOException;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * JSON factory that uses a single {@link SharedBufferRecycler} for all parsers and generators instead of a
+ * thread-local recycler.
+ */
+final class SharedBufferJsonFactory extends JsonFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SharedBufferRecycler recycler;
+
+    SharedBufferJsonFactory(final int slots) {
+
+        super();
+        this.recycler = new SharedBufferRecycler(slots);
+    }
+
+    private SharedBufferJsonFactory(final SharedBufferJsonFactory src, final ObjectCodec codec) {
+
+        super(src, codec);
+        this.recycler = src.recycler;
+    }
+
+    @Override
+    public JsonFactory copy() {
+
+        _checkInvalidCopy(SharedBufferJsonFactory.class);
+        return new SharedBufferJsonFactory(this, null);
+    }
+
+    @Override
+    public BufferRecycler _getBufferRecycler() {
+
+        return recycler;
+    }
+
+    @Override
+    protected IOContext _createContext(final Object srcRef, final boolean resourceManaged) {
+
+        return new SharedBufferIOContext(recycler, srcRef, resourceManaged);
+    }
+
+    /**
+     * IO context that returns byte buffers to the shared recycler. Char buffers are returned by the context of
+     * Jackson already.
+     */
+    private static final class SharedBufferIOContext extends IOContext {
+
+        private final SharedBufferRecycler recycler;
+
+        SharedBufferIOContext(final SharedBufferRecycler recycler,
+                              final Object sourceRef,
+                              final boolean managedResource) {
+
+            super(recycler, sourceRef, managedResource);
+            this.recycler = recycler;
+        }
+
+        @Override
+        public void releaseReadIOBuffer(final byte[] buf) {
+
+            if (buf != null) {
+                _verifyRelease(buf, _readIOBuffer);
+                _readIOBuffer = null;
+                recycler.releaseBytes(BufferRecycler.BYTE_READ_IO_BUFFER, buf);
+            }
+        }
+
+        @Override
+        public void releaseWriteEncodingBuffer(final byte[] buf) {
+
+            if (buf != null) {
+                _verifyRelease(buf, _writeEncodingBuffer);
+                _writeEncodingBuffer = null;
+                recycler.releaseBytes(BufferRecycler.BYTE_WRITE_ENCODING_BUFFER, buf);
+            }
+        }
+
+        @Override
+        public void releaseBase64Buffer(final byte[] buf) {
+
+            if (buf != null) {
+                _verifyRelease(buf, _base64Buffer);
+                _base64Buffer = null;
+                recycler.releaseBytes(BufferRecycler.BYTE_BASE64_CODEC_BUFFER, buf);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * Buffer recycler that is shared by all threads instead of being held in a thread-local. Each kind of buffer is
+ * pooled in a fixed number of slots that are claimed and returned using atomic operations, so the pool is lock-free.
+ * If all slots of a kind are empty, a new buffer is allocated; if all slots are occupied, a returned buffer is
+ * dropped.
+ * <br>
+ * This avoids that every operation on a short-lived thread, like a virtual thread, allocates new buffers. Jackson
+ * releases byte buffers through a final method, so byte buffers are only recycled when released through the
+ * {@link SharedBufferJsonFactory}'s IO context. Byte buffers released by other means are left to the garbage
+ * collector.
+ */
+final class SharedBufferRecycler extends BufferRecycler {
+
+    private final int slots;
+    private final AtomicReferenceArray<byte[]> byteBuffers;
+    private final AtomicReferenceArray<char[]> charBuffers;
+
+    /**
+     * Creates a new recycler.
+     *
+     * @param slots
+     *         the number of buffers that are pooled per kind of buffer
+     */
+    SharedBufferRecycler(final int slots) {
+
+        if (slots < 1) {
+            throw new IllegalArgumentException("At least one slot is required");
+        }
+        this.slots = slots;
+        this.byteBuffers = new AtomicReferenceArray<>(_byteBuffers.length * slots);
+        this.charBuffers = new AtomicReferenceArray<>(_charBuffers.length * slots);
+    }
+
+    @Override
+    public byte[] allocByteBuffer(final int ind, final int minSize) {
+
+        final int size = Math.max(minSize, byteBufferLength(ind));
+        final int base = ind * slots;
+        final int offset = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            final byte[] buffer = byteBuffers.getAndSet(base + (offset + i) % slots, null);
+            if (buffer != null && buffer.length >= size) {
+                return buffer;
+            }
+        }
+        return balloc(size);
+    }
+
+    /**
+     * Returns a byte buffer to the pool.
+     *
+     * @param ind
+     *         the kind of the buffer
+     * @param buffer
+     *         the buffer to return
+     */
+    void releaseBytes(final int ind, final byte[] buffer) {
+
+        final int base = ind * slots;
+        final int offset = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            if (byteBuffers.compareAndSet(base + (offset + i) % slots, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public char[] allocCharBuffer(final int ind, final int minSize) {
+
+        final int size = Math.max(minSize, charBufferLength(ind));
+        final int base = ind * slots;
+        final int offset = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            final char[] buffer = charBuffers.getAndSet(base + (offset + i) % slots, null);
+            if (buffer != null && buffer.length >= size) {
+                return buffer;
+            }
+        }
+        return calloc(size);
+    }
+
+    @Override
+    public void releaseCharBuffer(final int ind, final char[] buffer) {
+
+        final int base = ind * slots;
+        final int offset = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            if (charBuffers.compareAndSet(base + (offset + i) % slots, null, buffer)) {
+                return;
+            }
+        }
+    }
+}
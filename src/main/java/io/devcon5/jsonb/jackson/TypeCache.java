@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe cache for values that are derived from a {@link Type}, such as pre-built Jackson readers
+ * and writers. Once the cache is full, a value is evicted for each new one using the clock algorithm: lookups mark
+ * their entry as used without locking, and eviction removes the first entry that was not used since the previous
+ * pass of the clock hand, so that frequently used types are retained. The number of evicted values is counted, so a
+ * cache that is too small for the working set shows a growing number of evictions.
+ *
+ * @param <V>
+ *         the type of the cached values
+ */
+public final class TypeCache<V> {
+
+    private final ConcurrentMap<Type, Entry<V>> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final Function<Type, V> factory;
+    private Iterator<Map.Entry<Type, Entry<V>>> hand;
+
+    TypeCache(final int maxSize, final Function<Type, V> factory) {
+
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.factory = factory;
+    }
+
+    /**
+     * Retrieves the value for the given type, creating it if it is not yet cached. If the cache is full, another
+     * value is evicted.
+     *
+     * @param type
+     *         the type for which the value should be retrieved
+     *
+     * @return the cached or newly created value
+     */
+    public V get(final Type type) {
+
+        final Entry<V> entry = cache.get(type);
+        if (entry != null) {
+            hits.increment();
+            if (!entry.used) {
+                entry.used = true;
+            }
+            return entry.value;
+        }
+        misses.increment();
+        final V value = factory.apply(type);
+        if (maxSize == 0) {
+            return value;
+        }
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        final Entry<V> existing = cache.putIfAbsent(type, new Entry<>(value));
+        return existing != null ? existing.value : value;
+    }
+
+    /**
+     * Advances the clock hand until the cache has room for another value, removing the entries that were not used
+     * since the hand passed them the last time and marking the others as unused.
+     */
+    private synchronized void evict() {
+
+        while (cache.size() >= maxSize) {
+            if (hand == null || !hand.hasNext()) {
+                hand = cache.entrySet().iterator();
+                if (!hand.hasNext()) {
+                    return;
+                }
+            }
+            final Map.Entry<Type, Entry<V>> candidate = hand.next();
+            final Entry<V> entry = candidate.getValue();
+            if (entry.used) {
+                entry.used = false;
+            } else if (cache.remove(candidate.getKey(), entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * @return the number of lookups that were served from the cache
+     */
+    public long getHits() {
+
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that required a new value to be created
+     */
+    public long getMisses() {
+
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of values that were removed from the full cache to make room for new values
+     */
+    public long getEvictions() {
+
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of currently cached values
+     */
+    public int size() {
+
+        return cache.size();
+    }
+
+    /**
+     * @return the maximum number of values retained by this cache
+     */
+    public int getMaxSize() {
+
+        return maxSize;
+    }
+
+    /**
+     * Cached value with the flag of the clock algorithm.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile boolean used;
+
+        Entry(final V value) {
+
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import static io.devcon5.jsonp.jackson.JsonValues.NODE_FACTORY;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Builds a {@link JsonArray} directly into an array node. Each built array gets its own node, so that arrays are
+ * not affected by adding further elements to the builder.
+ */
+final class JacksonJsonArrayBuilder implements JsonArrayBuilder {
+
+    private ArrayNode node = NODE_FACTORY.arrayNode();
+
+    private JsonArrayBuilder append(final JsonNode value) {
+
+        node.add(value);
+        return this;
+    }
+
+    @Override
+    public JsonArrayBuilder add(final JsonValue value) {
+
+        return append(JsonValues.toNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonArrayBuilder add(final String value) {
+
+        return append(NODE_FACTORY.textNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonArrayBuilder add(final BigDecimal value) {
+
+        return append(NODE_FACTORY.numberNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonArrayBuilder add(final BigInteger value) {
+
+        return append(NODE_FACTORY.numberNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonArrayBuilder add(final int value) {
+
+        return append(NODE_FACTORY.numberNode(value));
+    }
+
+    @Override
+    public JsonArrayBuilder add(final long value) {
+
+        return append(NODE_FACTORY.numberNode(value));
+    }
+
+    @Override
+    public JsonArrayBuilder add(final double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new NumberFormatException("Number " + value + " is not valid JSON");
+        }
+        return append(NODE_FACTORY.numberNode(value));
+    }
+
+    @Override
+    public JsonArrayBuilder add(final boolean value) {
+
+        return append(NODE_FACTORY.booleanNode(value));
+    }
+
+    @Override
+    public JsonArrayBuilder addNull() {
+
+        return append(NODE_FACTORY.nullNode());
+    }
+
+    @Override
+    public JsonArrayBuilder add(final JsonObjectBuilder builder) {
+
+        return add(Objects.requireNonNull(builder, "builder must not be null").build());
+    }
+
+    @Override
+    public JsonArrayBuilder add(final JsonArrayBuilder builder) {
+
+        return add(Objects.requireNonNull(builder, "builder must not be null").build());
+    }
+
+    @Override
+    public JsonArray build() {
+
+        final JsonArray array = new JsonNodeArray(node);
+        this.node = NODE_FACTORY.arrayNode();
+        return array;
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonException;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+
+/**
+ * JSON-P generator that delegates to a Jackson generator.
+ */
+final class JacksonJsonGenerator implements JsonGenerator {
+
+    private final com.fasterxml.jackson.core.JsonGenerator generator;
+
+    JacksonJsonGenerator(final com.fasterxml.jackson.core.JsonGenerator generator) {
+
+        this.generator = generator;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+
+        try {
+            generator.writeStartObject();
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(final String name) {
+
+        try {
+            generator.writeFieldName(name);
+            generator.writeStartObject();
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+
+        try {
+            generator.writeStartArray();
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(final String name) {
+
+        try {
+            generator.writeFieldName(name);
+            generator.writeStartArray();
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final JsonValue value) {
+
+        try {
+            generator.writeFieldName(name);
+            JsonValues.write(generator, value, null);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final String value) {
+
+        try {
+            generator.writeStringField(name, value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final BigInteger value) {
+
+        try {
+            generator.writeFieldName(name);
+            generator.writeNumber(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final BigDecimal value) {
+
+        try {
+            generator.writeNumberField(name, value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final int value) {
+
+        try {
+            generator.writeNumberField(name, value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final long value) {
+
+        try {
+            generator.writeNumberField(name, value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final double value) {
+
+        requireFinite(value);
+        try {
+            generator.writeNumberField(name, value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final boolean value) {
+
+        try {
+            generator.writeBooleanField(name, value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull(final String name) {
+
+        try {
+            generator.writeNullField(name);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+
+        final JsonStreamContext context = generator.getOutputContext();
+        try {
+            if (context.inObject()) {
+                generator.writeEndObject();
+            } else if (context.inArray()) {
+                generator.writeEndArray();
+            } else {
+                throw new JsonGenerationException("writeEnd() called outside of an object or array");
+            }
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final JsonValue value) {
+
+        try {
+            JsonValues.write(generator, value, null);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final String value) {
+
+        try {
+            generator.writeString(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final BigDecimal value) {
+
+        try {
+            generator.writeNumber(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final BigInteger value) {
+
+        try {
+            generator.writeNumber(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final int value) {
+
+        try {
+            generator.writeNumber(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final long value) {
+
+        try {
+            generator.writeNumber(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final double value) {
+
+        requireFinite(value);
+        try {
+            generator.writeNumber(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(final boolean value) {
+
+        try {
+            generator.writeBoolean(value);
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+
+        try {
+            generator.writeNull();
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+
+        final boolean complete = generator.getOutputContext().inRoot();
+        try {
+            generator.close();
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+        if (!complete) {
+            throw new JsonGenerationException("Generating incomplete JSON");
+        }
+    }
+
+    @Override
+    public void flush() {
+
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw toJsonException(e);
+        }
+    }
+
+    private static void requireFinite(final double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new NumberFormatException("Number " + value + " is not valid JSON");
+        }
+    }
+
+    private static JsonException toJsonException(final IOException e) {
+
+        if (e instanceof com.fasterxml.jackson.core.JsonGenerationException) {
+            return new JsonGenerationException(e.getMessage(), e);
+        }
+        return new JsonException("Could not write content", e);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import static io.devcon5.jsonp.jackson.JsonValues.NODE_FACTORY;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Builds a {@link JsonObject} directly into an object node. Each built object gets its own node, so that objects
+ * are not affected by adding further members to the builder.
+ */
+final class JacksonJsonObjectBuilder implements JsonObjectBuilder {
+
+    private ObjectNode node = NODE_FACTORY.objectNode();
+
+    private JsonObjectBuilder set(final String name, final JsonNode value) {
+
+        node.set(Objects.requireNonNull(name, "name must not be null"), value);
+        return this;
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final JsonValue value) {
+
+        return set(name, JsonValues.toNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final String value) {
+
+        return set(name, NODE_FACTORY.textNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final BigInteger value) {
+
+        return set(name, NODE_FACTORY.numberNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final BigDecimal value) {
+
+        return set(name, NODE_FACTORY.numberNode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final int value) {
+
+        return set(name, NODE_FACTORY.numberNode(value));
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final long value) {
+
+        return set(name, NODE_FACTORY.numberNode(value));
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new NumberFormatException("Number " + value + " is not valid JSON");
+        }
+        return set(name, NODE_FACTORY.numberNode(value));
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final boolean value) {
+
+        return set(name, NODE_FACTORY.booleanNode(value));
+    }
+
+    @Override
+    public JsonObjectBuilder addNull(final String name) {
+
+        return set(name, NODE_FACTORY.nullNode());
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final JsonObjectBuilder builder) {
+
+        return add(name, Objects.requireNonNull(builder, "builder must not be null").build());
+    }
+
+    @Override
+    public JsonObjectBuilder add(final String name, final JsonArrayBuilder builder) {
+
+        return add(name, Objects.requireNonNull(builder, "builder must not be null").build());
+    }
+
+    @Override
+    public JsonObject build() {
+
+        final JsonObject object = new JsonNodeObject(node);
+        this.node = NODE_FACTORY.objectNode();
+        return object;
+    }
+}
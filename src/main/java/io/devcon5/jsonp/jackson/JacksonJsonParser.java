@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonException;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * JSON-P parser that delegates to a Jackson parser. The parser reads a single JSON value.
+ */
+final class JacksonJsonParser implements JsonParser {
+
+    private final com.fasterxml.jackson.core.JsonParser parser;
+    private Event event;
+    private int depth;
+
+    JacksonJsonParser(final com.fasterxml.jackson.core.JsonParser parser) {
+
+        this.parser = parser;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        return event == null || depth > 0;
+    }
+
+    @Override
+    public Event next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more parsing events");
+        }
+        final JsonToken token;
+        try {
+            token = parser.nextToken();
+        } catch (JsonParseException e) {
+            throw new JsonParsingException(e.getOriginalMessage(), e, getLocation());
+        } catch (IOException e) {
+            throw new JsonException("Could not read content", e);
+        }
+        if (token == null) {
+            throw new JsonParsingException("Unexpected end of input", getLocation());
+        }
+        this.event = toEvent(token);
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+        return event;
+    }
+
+    private static Event toEvent(final JsonToken token) {
+
+        switch (token) {
+            case START_OBJECT:
+                return Event.START_OBJECT;
+            case END_OBJECT:
+                return Event.END_OBJECT;
+            case START_ARRAY:
+                return Event.START_ARRAY;
+            case END_ARRAY:
+                return Event.END_ARRAY;
+            case FIELD_NAME:
+                return Event.KEY_NAME;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return Event.VALUE_NUMBER;
+            case VALUE_TRUE:
+                return Event.VALUE_TRUE;
+            case VALUE_FALSE:
+                return Event.VALUE_FALSE;
+            case VALUE_NULL:
+                return Event.VALUE_NULL;
+            default:
+                return Event.VALUE_STRING;
+        }
+    }
+
+    @Override
+    public String getString() {
+
+        if (event != Event.KEY_NAME && event != Event.VALUE_STRING && event != Event.VALUE_NUMBER) {
+            throw new IllegalStateException("No string value for event " + event);
+        }
+        try {
+            return parser.getText();
+        } catch (IOException e) {
+            throw new JsonException("Could not read content", e);
+        }
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+
+        requireNumber();
+        return parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT;
+    }
+
+    @Override
+    public int getInt() {
+
+        requireNumber();
+        try {
+            if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT
+                    && parser.getNumberType() == com.fasterxml.jackson.core.JsonParser.NumberType.INT) {
+                return parser.getIntValue();
+            }
+            return parser.getDecimalValue().intValue();
+        } catch (IOException e) {
+            throw new JsonException("Could not read content", e);
+        }
+    }
+
+    @Override
+    public long getLong() {
+
+        requireNumber();
+        try {
+            if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT
+                    && parser.getNumberType() != com.fasterxml.jackson.core.JsonParser.NumberType.BIG_INTEGER) {
+                return parser.getLongValue();
+            }
+            return parser.getDecimalValue().longValue();
+        } catch (IOException e) {
+            throw new JsonException("Could not read content", e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+
+        requireNumber();
+        try {
+            return parser.getDecimalValue();
+        } catch (IOException e) {
+            throw new JsonException("Could not read content", e);
+        }
+    }
+
+    private void requireNumber() {
+
+        if (event != Event.VALUE_NUMBER) {
+            throw new IllegalStateException("No number value for event " + event);
+        }
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+
+        return toLocation(parser.getCurrentLocation());
+    }
+
+    static JsonLocation toLocation(final com.fasterxml.jackson.core.JsonLocation location) {
+
+        final long offset = location.getCharOffset() >= 0 ? location.getCharOffset() : location.getByteOffset();
+        return new JsonLocation() {
+
+            @Override
+            public long getLineNumber() {
+
+                return location.getLineNr();
+            }
+
+            @Override
+            public long getColumnNumber() {
+
+                return location.getColumnNr();
+            }
+
+            @Override
+            public long getStreamOffset() {
+
+                return offset;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new JsonException("Could not close content", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonWriter;
+import javax.json.JsonWriterFactory;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Jackson2 based implementation of the JSON-P API. Parsers and generators delegate to the Jackson streaming API,
+ * objects and arrays are views of Jackson {@link com.fasterxml.jackson.databind.JsonNode} trees.
+ */
+public class JacksonJsonProvider extends JsonProvider {
+
+    private final JsonpFactory defaultFactory = new JsonpFactory(Collections.emptyMap());
+
+    @Override
+    public JsonParser createParser(final Reader reader) {
+
+        return defaultFactory.createParser(reader);
+    }
+
+    @Override
+    public JsonParser createParser(final InputStream in) {
+
+        return defaultFactory.createParser(in);
+    }
+
+    @Override
+    public JsonParserFactory createParserFactory(final Map<String, ?> config) {
+
+        return new JsonpFactory(config);
+    }
+
+    @Override
+    public JsonGenerator createGenerator(final Writer writer) {
+
+        return defaultFactory.createGenerator(writer);
+    }
+
+    @Override
+    public JsonGenerator createGenerator(final OutputStream out) {
+
+        return defaultFactory.createGenerator(out);
+    }
+
+    @Override
+    public JsonGeneratorFactory createGeneratorFactory(final Map<String, ?> config) {
+
+        return new JsonpFactory(config);
+    }
+
+    @Override
+    public JsonReader createReader(final Reader reader) {
+
+        return defaultFactory.createReader(reader);
+    }
+
+    @Override
+    public JsonReader createReader(final InputStream in) {
+
+        return defaultFactory.createReader(in);
+    }
+
+    @Override
+    public JsonWriter createWriter(final Writer writer) {
+
+        return defaultFactory.createWriter(writer);
+    }
+
+    @Override
+    public JsonWriter createWriter(final OutputStream out) {
+
+        return defaultFactory.createWriter(out);
+    }
+
+    @Override
+    public JsonWriterFactory createWriterFactory(final Map<String, ?> config) {
+
+        return new JsonpFactory(config);
+    }
+
+    @Override
+    public JsonReaderFactory createReaderFactory(final Map<String, ?> config) {
+
+        return new JsonpFactory(config);
+    }
+
+    @Override
+    public JsonObjectBuilder createObjectBuilder() {
+
+        return defaultFactory.createObjectBuilder();
+    }
+
+    @Override
+    public JsonArrayBuilder createArrayBuilder() {
+
+        return defaultFactory.createArrayBuilder();
+    }
+
+    @Override
+    public JsonBuilderFactory createBuilderFactory(final Map<String, ?> config) {
+
+        return new JsonpFactory(config);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonStructure;
+import javax.json.stream.JsonParsingException;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Reads a JSON object or array into a tree of Jackson nodes and returns the JSON-P view of the tree.
+ */
+final class JacksonJsonReader implements JsonReader {
+
+    private final JsonParser parser;
+    private boolean used;
+
+    JacksonJsonReader(final JsonParser parser) {
+
+        this.parser = parser;
+    }
+
+    @Override
+    public JsonStructure read() {
+
+        return (JsonStructure) JsonValues.wrap(readTree(null));
+    }
+
+    @Override
+    public JsonObject readObject() {
+
+        return (JsonObject) JsonValues.wrap(readTree(JsonToken.START_OBJECT));
+    }
+
+    @Override
+    public JsonArray readArray() {
+
+        return (JsonArray) JsonValues.wrap(readTree(JsonToken.START_ARRAY));
+    }
+
+    /**
+     * Reads the tree of the structure.
+     *
+     * @param expected
+     *         the token the structure must start with or <code>null</code> if any structure is accepted
+     *
+     * @return the root node of the tree
+     */
+    private JsonNode readTree(final JsonToken expected) {
+
+        if (used) {
+            throw new IllegalStateException("Reader has already been used or closed");
+        }
+        used = true;
+        try {
+            final JsonToken token = parser.nextToken();
+            final boolean valid = expected != null
+                                  ? token == expected
+                                  : token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+            if (!valid) {
+                throw new JsonParsingException("Unexpected token " + token,
+                                               JacksonJsonParser.toLocation(parser.getCurrentLocation()));
+            }
+            return JsonValues.readTree(parser);
+        } catch (JsonParseException e) {
+            throw new JsonParsingException(e.getOriginalMessage(),
+                                           e,
+                                           JacksonJsonParser.toLocation(parser.getCurrentLocation()));
+        } catch (IOException e) {
+            throw new JsonException("Could not read content", e);
+        }
+    }
+
+    @Override
+    public void close() {
+
+        used = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new JsonException("Could not close content", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonStructure;
+import javax.json.JsonWriter;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes a JSON object or array using a Jackson generator. Structures backed by Jackson nodes are written directly
+ * from the nodes.
+ */
+final class JacksonJsonWriter implements JsonWriter {
+
+    private final JsonGenerator generator;
+    private boolean used;
+
+    JacksonJsonWriter(final JsonGenerator generator) {
+
+        this.generator = generator;
+    }
+
+    @Override
+    public void writeArray(final JsonArray array) {
+
+        write(array);
+    }
+
+    @Override
+    public void writeObject(final JsonObject object) {
+
+        write(object);
+    }
+
+    @Override
+    public void write(final JsonStructure value) {
+
+        if (used) {
+            throw new IllegalStateException("Writer has already been used or closed");
+        }
+        used = true;
+        try {
+            JsonValues.write(generator, value, null);
+            generator.flush();
+        } catch (IOException e) {
+            throw new JsonException("Could not write content", e);
+        }
+    }
+
+    @Override
+    public void close() {
+
+        used = true;
+        try {
+            generator.close();
+        } catch (IOException e) {
+            throw new JsonException("Could not close content", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import java.util.AbstractList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * {@link JsonArray} view of an array node. Elements are wrapped when they are accessed, the node is not copied.
+ */
+final class JsonNodeArray extends AbstractList<JsonValue> implements JsonArray, JsonNodeValue {
+
+    private final JsonNode node;
+
+    JsonNodeArray(final JsonNode node) {
+
+        this.node = node;
+    }
+
+    @Override
+    public JsonNode getNode() {
+
+        return node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+
+        return ValueType.ARRAY;
+    }
+
+    @Override
+    public JsonObject getJsonObject(final int index) {
+
+        return (JsonObject) get(index);
+    }
+
+    @Override
+    public JsonArray getJsonArray(final int index) {
+
+        return (JsonArray) get(index);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(final int index) {
+
+        return (JsonNumber) get(index);
+    }
+
+    @Override
+    public JsonString getJsonString(final int index) {
+
+        return (JsonString) get(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends JsonValue> List<T> getValuesAs(final Class<T> clazz) {
+
+        return (List<T>) this;
+    }
+
+    @Override
+    public String getString(final int index) {
+
+        return getJsonString(index).getString();
+    }
+
+    @Override
+    public String getString(final int index, final String defaultValue) {
+
+        final JsonValue value = index >= 0 && index < size() ? get(index) : null;
+        return value instanceof JsonString ? ((JsonString) value).getString() : defaultValue;
+    }
+
+    @Override
+    public int getInt(final int index) {
+
+        return getJsonNumber(index).intValue();
+    }
+
+    @Override
+    public int getInt(final int index, final int defaultValue) {
+
+        final JsonValue value = index >= 0 && index < size() ? get(index) : null;
+        return value instanceof JsonNumber ? ((JsonNumber) value).intValue() : defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(final int index) {
+
+        return JsonValues.toBoolean(get(index));
+    }
+
+    @Override
+    public boolean getBoolean(final int index, final boolean defaultValue) {
+
+        final JsonValue value = index >= 0 && index < size() ? get(index) : null;
+        return value == JsonValue.TRUE || value != JsonValue.FALSE && defaultValue;
+    }
+
+    @Override
+    public boolean isNull(final int index) {
+
+        return get(index).getValueType() == ValueType.NULL;
+    }
+
+    @Override
+    public JsonValue get(final int index) {
+
+        if (index < 0 || index >= node.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + node.size());
+        }
+        return JsonValues.wrap(node.get(index));
+    }
+
+    @Override
+    public int size() {
+
+        return node.size();
+    }
+
+    @Override
+    public String toString() {
+
+        return node.toString();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonNumber;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * {@link JsonNumber} view of a numeric node.
+ */
+final class JsonNodeNumber implements JsonNumber, JsonNodeValue {
+
+    private final JsonNode node;
+
+    JsonNodeNumber(final JsonNode node) {
+
+        this.node = node;
+    }
+
+    @Override
+    public JsonNode getNode() {
+
+        return node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+
+        return ValueType.NUMBER;
+    }
+
+    @Override
+    public boolean isIntegral() {
+
+        return node.isIntegralNumber();
+    }
+
+    @Override
+    public int intValue() {
+
+        return node.intValue();
+    }
+
+    @Override
+    public int intValueExact() {
+
+        return bigDecimalValue().intValueExact();
+    }
+
+    @Override
+    public long longValue() {
+
+        return node.longValue();
+    }
+
+    @Override
+    public long longValueExact() {
+
+        return bigDecimalValue().longValueExact();
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+
+        return node.bigIntegerValue();
+    }
+
+    @Override
+    public BigInteger bigIntegerValueExact() {
+
+        return bigDecimalValue().toBigIntegerExact();
+    }
+
+    @Override
+    public double doubleValue() {
+
+        return node.doubleValue();
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+
+        return node.decimalValue();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+
+        return this == o || o instanceof JsonNumber && bigDecimalValue().equals(((JsonNumber) o).bigDecimalValue());
+    }
+
+    @Override
+    public int hashCode() {
+
+        return bigDecimalValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        return node.asText();
+    }
+}
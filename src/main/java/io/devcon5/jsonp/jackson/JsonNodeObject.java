@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * {@link JsonObject} view of an object node. Members are wrapped when they are accessed, the node is not copied.
+ */
+final class JsonNodeObject extends AbstractMap<String, JsonValue> implements JsonObject, JsonNodeValue {
+
+    private final JsonNode node;
+
+    JsonNodeObject(final JsonNode node) {
+
+        this.node = node;
+    }
+
+    @Override
+    public JsonNode getNode() {
+
+        return node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+
+        return ValueType.OBJECT;
+    }
+
+    @Override
+    public JsonArray getJsonArray(final String name) {
+
+        return (JsonArray) get(name);
+    }
+
+    @Override
+    public JsonObject getJsonObject(final String name) {
+
+        return (JsonObject) get(name);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(final String name) {
+
+        return (JsonNumber) get(name);
+    }
+
+    @Override
+    public JsonString getJsonString(final String name) {
+
+        return (JsonString) get(name);
+    }
+
+    @Override
+    public String getString(final String name) {
+
+        return getJsonString(name).getString();
+    }
+
+    @Override
+    public String getString(final String name, final String defaultValue) {
+
+        final JsonValue value = get(name);
+        return value instanceof JsonString ? ((JsonString) value).getString() : defaultValue;
+    }
+
+    @Override
+    public int getInt(final String name) {
+
+        return getJsonNumber(name).intValue();
+    }
+
+    @Override
+    public int getInt(final String name, final int defaultValue) {
+
+        final JsonValue value = get(name);
+        return value instanceof JsonNumber ? ((JsonNumber) value).intValue() : defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(final String name) {
+
+        return JsonValues.toBoolean(get(name));
+    }
+
+    @Override
+    public boolean getBoolean(final String name, final boolean defaultValue) {
+
+        final JsonValue value = get(name);
+        return value == JsonValue.TRUE || value != JsonValue.FALSE && defaultValue;
+    }
+
+    @Override
+    public boolean isNull(final String name) {
+
+        return get(name).getValueType() == ValueType.NULL;
+    }
+
+    @Override
+    public JsonValue get(final Object key) {
+
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final JsonNode member = node.get((String) key);
+        return member == null ? null : JsonValues.wrap(member);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+
+        return key instanceof String && node.has((String) key);
+    }
+
+    @Override
+    public int size() {
+
+        return node.size();
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+
+        return new AbstractSet<Entry<String, JsonValue>>() {
+
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+
+                final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                return new Iterator<Entry<String, JsonValue>>() {
+
+                    @Override
+                    public boolean hasNext() {
+
+                        return fields.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, JsonValue> next() {
+
+                        final Map.Entry<String, JsonNode> field = fields.next();
+                        return new SimpleImmutableEntry<>(field.getKey(), JsonValues.wrap(field.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+
+                return node.size();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+
+        return node.toString();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonString;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * {@link JsonString} view of a textual node.
+ */
+final class JsonNodeString implements JsonString, JsonNodeValue {
+
+    private final JsonNode node;
+
+    JsonNodeString(final JsonNode node) {
+
+        this.node = node;
+    }
+
+    @Override
+    public JsonNode getNode() {
+
+        return node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+
+        return ValueType.STRING;
+    }
+
+    @Override
+    public String getString() {
+
+        return node.asText();
+    }
+
+    @Override
+    public CharSequence getChars() {
+
+        return getString();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+
+        return this == o || o instanceof JsonString && getString().equals(((JsonString) o).getString());
+    }
+
+    @Override
+    public int hashCode() {
+
+        return getString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        return node.isTextual() ? node.toString() : '"' + node.asText() + '"';
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonValue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A {@link JsonValue} that is a view of a Jackson {@link JsonNode}. The node is never modified, so the view is
+ * immutable as required by the JSON-P API.
+ */
+interface JsonNodeValue extends JsonValue {
+
+    /**
+     * @return the node this value is a view of
+     */
+    JsonNode getNode();
+}
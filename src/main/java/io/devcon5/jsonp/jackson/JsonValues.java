@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Conversions between JSON-P values and Jackson nodes. Values backed by a node are converted without copying.
+ */
+final class JsonValues {
+
+    /**
+     * Node factory that keeps the scale of decimal numbers, as JSON-P numbers are compared by their exact value
+     */
+    static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.withExactBigDecimals(true);
+
+    private JsonValues() {
+
+    }
+
+    /**
+     * Wraps the node in a JSON-P view of the node.
+     *
+     * @param node
+     *         the node to wrap
+     *
+     * @return the view of the node
+     */
+    static JsonValue wrap(final JsonNode node) {
+
+        switch (node.getNodeType()) {
+            case OBJECT:
+                return new JsonNodeObject(node);
+            case ARRAY:
+                return new JsonNodeArray(node);
+            case NUMBER:
+                return new JsonNodeNumber(node);
+            case BOOLEAN:
+                return node.booleanValue() ? JsonValue.TRUE : JsonValue.FALSE;
+            case NULL:
+            case MISSING:
+                return JsonValue.NULL;
+            default:
+                return new JsonNodeString(node);
+        }
+    }
+
+    /**
+     * Returns the node of the value. Values that are not backed by a node, i.e. created by another JSON-P
+     * provider, are converted into a node.
+     *
+     * @param value
+     *         the value to convert
+     *
+     * @return the node representing the value
+     */
+    static JsonNode toNode(final JsonValue value) {
+
+        if (value instanceof JsonNodeValue) {
+            return ((JsonNodeValue) value).getNode();
+        }
+        switch (value.getValueType()) {
+            case OBJECT:
+                final ObjectNode object = NODE_FACTORY.objectNode();
+                for (Map.Entry<String, JsonValue> member : ((JsonObject) value).entrySet()) {
+                    object.set(member.getKey(), toNode(member.getValue()));
+                }
+                return object;
+            case ARRAY:
+                final ArrayNode array = NODE_FACTORY.arrayNode();
+                for (JsonValue element : (JsonArray) value) {
+                    array.add(toNode(element));
+                }
+                return array;
+            case STRING:
+                return NODE_FACTORY.textNode(((JsonString) value).getString());
+            case NUMBER:
+                final JsonNumber number = (JsonNumber) value;
+                return number.isIntegral()
+                       ? NODE_FACTORY.numberNode(number.bigIntegerValue())
+                       : NODE_FACTORY.numberNode(number.bigDecimalValue());
+            case TRUE:
+                return NODE_FACTORY.booleanNode(true);
+            case FALSE:
+                return NODE_FACTORY.booleanNode(false);
+            default:
+                return NODE_FACTORY.nullNode();
+        }
+    }
+
+    /**
+     * Writes the value to the generator. Values backed by a node are written directly from the node.
+     *
+     * @param generator
+     *         the generator to write to
+     * @param value
+     *         the value to write
+     * @param provider
+     *         the serializer provider when invoked from databind, otherwise <code>null</code> and the generator
+     *         must have a codec
+     *
+     * @throws IOException
+     *         if the value could not be written
+     */
+    static void write(final JsonGenerator generator, final JsonValue value, final SerializerProvider provider)
+            throws IOException {
+
+        if (value instanceof JsonNodeValue) {
+            if (provider != null) {
+                ((JsonNodeValue) value).getNode().serialize(generator, provider);
+            } else {
+                generator.writeTree(((JsonNodeValue) value).getNode());
+            }
+            return;
+        }
+        switch (value.getValueType()) {
+            case OBJECT:
+                generator.writeStartObject();
+                for (Map.Entry<String, JsonValue> member : ((JsonObject) value).entrySet()) {
+                    generator.writeFieldName(member.getKey());
+                    write(generator, member.getValue(), provider);
+                }
+                generator.writeEndObject();
+                break;
+            case ARRAY:
+                generator.writeStartArray();
+                for (JsonValue element : (JsonArray) value) {
+                    write(generator, element, provider);
+                }
+                generator.writeEndArray();
+                break;
+            case STRING:
+                generator.writeString(((JsonString) value).getString());
+                break;
+            case NUMBER:
+                final JsonNumber number = (JsonNumber) value;
+                if (number.isIntegral()) {
+                    generator.writeNumber(number.bigIntegerValue());
+                } else {
+                    generator.writeNumber(number.bigDecimalValue());
+                }
+                break;
+            case TRUE:
+                generator.writeBoolean(true);
+                break;
+            case FALSE:
+                generator.writeBoolean(false);
+                break;
+            default:
+                generator.writeNull();
+        }
+    }
+
+    /**
+     * Reads the value the parser is positioned at into a tree. Unlike reading a tree with a mapper, decimal numbers
+     * are always read with their exact value, regardless of the configuration of the mapper.
+     *
+     * @param parser
+     *         the parser positioned at the first token of the value
+     *
+     * @return the root node of the tree
+     *
+     * @throws IOException
+     *         if the value could not be read
+     */
+    static JsonNode readTree(final JsonParser parser) throws IOException {
+
+        final JsonToken token = parser.getCurrentToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end of input");
+        }
+        switch (token) {
+            case START_OBJECT:
+                final ObjectNode object = NODE_FACTORY.objectNode();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    object.set(name, readTree(parser));
+                }
+                return object;
+            case START_ARRAY:
+                final ArrayNode array = NODE_FACTORY.arrayNode();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(readTree(parser));
+                }
+                return array;
+            case VALUE_STRING:
+                return NODE_FACTORY.textNode(parser.getText());
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return NODE_FACTORY.numberNode(parser.getIntValue());
+                    case LONG:
+                        return NODE_FACTORY.numberNode(parser.getLongValue());
+                    default:
+                        return NODE_FACTORY.numberNode(parser.getBigIntegerValue());
+                }
+            case VALUE_NUMBER_FLOAT:
+                return NODE_FACTORY.numberNode(parser.getDecimalValue());
+            case VALUE_TRUE:
+                return NODE_FACTORY.booleanNode(true);
+            case VALUE_FALSE:
+                return NODE_FACTORY.booleanNode(false);
+            case VALUE_NULL:
+                return NODE_FACTORY.nullNode();
+            case VALUE_EMBEDDED_OBJECT:
+                return NODE_FACTORY.pojoNode(parser.getEmbeddedObject());
+            default:
+                throw new JsonParseException(parser, "Unexpected token " + token);
+        }
+    }
+
+    static boolean toBoolean(final JsonValue value) {
+
+        if (value == null) {
+            throw new NullPointerException("No value");
+        }
+        switch (value.getValueType()) {
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            default:
+                throw new ClassCastException("Value of type " + value.getValueType() + " is not a boolean");
+        }
+    }
+}
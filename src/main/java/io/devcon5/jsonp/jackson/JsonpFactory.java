@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonWriter;
+import javax.json.JsonWriterFactory;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Creates all JSON-P parsers, generators, readers, writers and builders for one configuration. The only supported
+ * configuration property is {@link JsonGenerator#PRETTY_PRINTING}, all others are ignored.
+ */
+final class JsonpFactory implements JsonParserFactory,
+                                    JsonGeneratorFactory,
+                                    JsonReaderFactory,
+                                    JsonWriterFactory,
+                                    JsonBuilderFactory {
+
+    /**
+     * Codec of the parsers and generators, required for traversing and writing trees
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final boolean prettyPrinting;
+    private final Map<String, ?> configInUse;
+
+    JsonpFactory(final Map<String, ?> config) {
+
+        this.prettyPrinting = config != null && config.containsKey(JsonGenerator.PRETTY_PRINTING)
+                && !Boolean.FALSE.equals(config.get(JsonGenerator.PRETTY_PRINTING));
+        this.configInUse = prettyPrinting
+                           ? Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true)
+                           : Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, ?> getConfigInUse() {
+
+        return configInUse;
+    }
+
+    @Override
+    public JsonParser createParser(final Reader reader) {
+
+        return new JacksonJsonParser(parserFor(reader));
+    }
+
+    @Override
+    public JsonParser createParser(final InputStream in) {
+
+        return new JacksonJsonParser(parserFor(in, null));
+    }
+
+    @Override
+    public JsonParser createParser(final InputStream in, final Charset charset) {
+
+        return new JacksonJsonParser(parserFor(in, charset));
+    }
+
+    @Override
+    public JsonParser createParser(final JsonObject obj) {
+
+        return new JacksonJsonParser(JsonValues.toNode(obj).traverse(MAPPER));
+    }
+
+    @Override
+    public JsonParser createParser(final JsonArray array) {
+
+        return new JacksonJsonParser(JsonValues.toNode(array).traverse(MAPPER));
+    }
+
+    @Override
+    public JsonGenerator createGenerator(final Writer writer) {
+
+        return new JacksonJsonGenerator(generatorFor(writer));
+    }
+
+    @Override
+    public JsonGenerator createGenerator(final OutputStream out) {
+
+        return new JacksonJsonGenerator(generatorFor(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public JsonGenerator createGenerator(final OutputStream out, final Charset charset) {
+
+        return new JacksonJsonGenerator(generatorFor(out, charset));
+    }
+
+    @Override
+    public JsonReader createReader(final Reader reader) {
+
+        return new JacksonJsonReader(parserFor(reader));
+    }
+
+    @Override
+    public JsonReader createReader(final InputStream in) {
+
+        return new JacksonJsonReader(parserFor(in, null));
+    }
+
+    @Override
+    public JsonReader createReader(final InputStream in, final Charset charset) {
+
+        return new JacksonJsonReader(parserFor(in, charset));
+    }
+
+    @Override
+    public JsonWriter createWriter(final Writer writer) {
+
+        return new JacksonJsonWriter(generatorFor(writer));
+    }
+
+    @Override
+    public JsonWriter createWriter(final OutputStream out) {
+
+        return new JacksonJsonWriter(generatorFor(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public JsonWriter createWriter(final OutputStream out, final Charset charset) {
+
+        return new JacksonJsonWriter(generatorFor(out, charset));
+    }
+
+    @Override
+    public JsonObjectBuilder createObjectBuilder() {
+
+        return new JacksonJsonObjectBuilder();
+    }
+
+    @Override
+    public JsonArrayBuilder createArrayBuilder() {
+
+        return new JacksonJsonArrayBuilder();
+    }
+
+    private com.fasterxml.jackson.core.JsonParser parserFor(final Reader reader) {
+
+        try {
+            return MAPPER.getFactory().createParser(reader);
+        } catch (IOException e) {
+            throw new JsonException("Could not create parser", e);
+        }
+    }
+
+    /**
+     * Creates a parser for the stream. Unicode encodings are detected by Jackson if no charset is given.
+     */
+    private com.fasterxml.jackson.core.JsonParser parserFor(final InputStream in, final Charset charset) {
+
+        if (charset != null && !StandardCharsets.UTF_8.equals(charset)) {
+            return parserFor(new InputStreamReader(in, charset));
+        }
+        try {
+            return MAPPER.getFactory().createParser(in);
+        } catch (IOException e) {
+            throw new JsonException("Could not create parser", e);
+        }
+    }
+
+    private com.fasterxml.jackson.core.JsonGenerator generatorFor(final Writer writer) {
+
+        try {
+            return configure(MAPPER.getFactory().createGenerator(writer));
+        } catch (IOException e) {
+            throw new JsonException("Could not create generator", e);
+        }
+    }
+
+    private com.fasterxml.jackson.core.JsonGenerator generatorFor(final OutputStream out, final Charset charset) {
+
+        if (!StandardCharsets.UTF_8.equals(charset)) {
+            return generatorFor(new OutputStreamWriter(out, charset));
+        }
+        try {
+            return configure(MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8));
+        } catch (IOException e) {
+            throw new JsonException("Could not create generator", e);
+        }
+    }
+
+    private com.fasterxml.jackson.core.JsonGenerator configure(
+            final com.fasterxml.jackson.core.JsonGenerator generator) {
+
+        return prettyPrinting ? generator.useDefaultPrettyPrinter() : generator;
+    }
+}
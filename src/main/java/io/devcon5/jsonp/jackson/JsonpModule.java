@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Jackson module for binding JSON-P values. Values are read as Jackson trees and returned as views of the trees,
+ * and values created by the {@link JacksonJsonProvider} are written directly from their trees, so binding from and
+ * to JSON-P values requires no intermediate copy.
+ */
+public class JsonpModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public JsonpModule() {
+
+        super("JsonpModule");
+        addSerializer(JsonValue.class, new JsonValueSerializer());
+        addDeserializer(JsonValue.class, new JsonValueDeserializer<>(JsonValue.class));
+        addDeserializer(JsonStructure.class, new JsonValueDeserializer<>(JsonStructure.class));
+        addDeserializer(JsonObject.class, new JsonValueDeserializer<>(JsonObject.class));
+        addDeserializer(JsonArray.class, new JsonValueDeserializer<>(JsonArray.class));
+        addDeserializer(JsonString.class, new JsonValueDeserializer<>(JsonString.class));
+        addDeserializer(JsonNumber.class, new JsonValueDeserializer<>(JsonNumber.class));
+    }
+
+    private static final class JsonValueSerializer extends StdSerializer<JsonValue> {
+
+        private static final long serialVersionUID = 1L;
+
+        JsonValueSerializer() {
+
+            super(JsonValue.class);
+        }
+
+        @Override
+        public void serialize(final JsonValue value, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+
+            JsonValues.write(gen, value, provider);
+        }
+    }
+
+    private static final class JsonValueDeserializer<T extends JsonValue> extends StdDeserializer<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Class<T> type;
+
+        JsonValueDeserializer(final Class<T> type) {
+
+            super(type);
+            this.type = type;
+        }
+
+        @Override
+        public T deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+
+            final JsonValue value = JsonValues.wrap(JsonValues.readTree(p));
+            if (!type.isInstance(value)) {
+                return ctxt.reportInputMismatch(this,
+                                                "Cannot bind JSON %s to %s",
+                                                value.getValueType(),
+                                                type.getSimpleName());
+            }
+            return type.cast(value);
+        }
+
+        /**
+         * JSON <code>null</code> is bound to {@link JsonValue#NULL} if any value is accepted, otherwise to
+         * <code>null</code>.
+         */
+        @Override
+        public T getNullValue(final DeserializationContext ctxt) {
+
+            return type == JsonValue.class ? type.cast(JsonValue.NULL) : null;
+        }
+    }
+}
@@ -19,8 +19,10 @@ package io.devcon5.jsonb;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,6 +36,9 @@ import org.junit.Test;
  */
 public class TypesTest {
 
+    private Map<String, List<Long>> jdkMapOfLists;
+    private Map.Entry<String, Long> jdkEntry;
+
     @Test
     public void listOf() throws Exception {
         ParameterizedType type = Types.listOf(String.class);
@@ -110,4 +115,55 @@ public class TypesTest {
         assertEquals(List.class, type.getOwnerType());
     }
 
+    @Test
+    public void equalDefinitions_sameInstance() throws Exception {
+
+        assertSame(Types.listOf(String.class), Types.listOf(String.class));
+        assertSame(Types.mapOf(String.class, Types.listOf(Long.class)),
+                   Types.mapOf(String.class, Types.listOf(Long.class)));
+        assertSame(Types.of(AtomicReference.class, String.class), Types.of(AtomicReference.class, String.class));
+    }
+
+    @Test
+    public void singleArgumentFactories_sameInstanceAsGenericFactory() throws Exception {
+
+        assertSame(Types.of(List.class, Integer.class), Types.listOf(Integer.class));
+        assertSame(Types.setOf(Integer.class), Types.of(Set.class, Integer.class));
+        assertSame(Types.optionalOf(Types.listOf(Integer.class)),
+                   Types.of(Optional.class, Types.listOf(Integer.class)));
+    }
+
+    @Test
+    public void modifiedTypeArguments_canonicalInstanceUnchanged() throws Exception {
+
+        ParameterizedType type = Types.listOf(String.class);
+        type.getActualTypeArguments()[0] = Long.class;
+
+        assertEquals(String.class, type.getActualTypeArguments()[0]);
+    }
+
+    @Test
+    public void equalsAndHashCode_compatibleWithJdkTypes() throws Exception {
+
+        Type jdkType = TypesTest.class.getDeclaredField("jdkMapOfLists").getGenericType();
+        ParameterizedType type = Types.mapOf(String.class, Types.listOf(Long.class));
+
+        assertEquals(jdkType, type);
+        assertEquals(type, jdkType);
+        assertEquals(jdkType.hashCode(), type.hashCode());
+        assertEquals(jdkType.getTypeName(), type.getTypeName());
+    }
+
+    @Test
+    public void nestedRawType_ownerIsDeclaringClass() throws Exception {
+
+        Type jdkType = TypesTest.class.getDeclaredField("jdkEntry").getGenericType();
+        ParameterizedType type = Types.of(Map.Entry.class, String.class, Long.class);
+
+        assertEquals(Map.class, type.getOwnerType());
+        assertEquals(jdkType, type);
+        assertEquals(jdkType.hashCode(), type.hashCode());
+        assertEquals(jdkType.getTypeName(), type.getTypeName());
+    }
+
 }
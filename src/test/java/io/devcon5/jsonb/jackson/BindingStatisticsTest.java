@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.JsonbException;
+import java.time.Duration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BindingStatisticsTest {
+
+    private BindingStatistics statistics;
+
+    @Before
+    public void setUp() throws Exception {
+
+        this.statistics = new BindingStatistics();
+    }
+
+    @Test
+    public void countersPerTypeAndOperation() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder()
+                .withConfig(new JsonbConfig().setProperty(JacksonJsonbBuilder.INSTRUMENTATION, statistics))
+                .build();
+
+        jsonb.fromJson("{\"value\":1}", Example.class);
+        jsonb.fromJson("{\"value\":2}", Example.class);
+        try {
+            jsonb.fromJson("{\"value\":\"x\"}", Example.class);
+        } catch (JsonbException e) {
+            //expected
+        }
+        String json = jsonb.toJson(new Example());
+
+        BindingStatistics.Counters read = statistics.getCounters(Example.class, BindingEvent.Operation.DESERIALIZE);
+        BindingStatistics.Counters write = statistics.getCounters(Example.class, BindingEvent.Operation.SERIALIZE);
+        assertEquals(3, read.getCount());
+        assertEquals(1, read.getFailures());
+        assertEquals(35, read.getSize());
+        assertEquals(1, write.getCount());
+        assertEquals(json.length(), write.getSize());
+        assertTrue(statistics.getTypes().contains(Example.class));
+    }
+
+    @Test
+    public void percentiles() throws Exception {
+
+        for (int i = 0; i < 99; i++) {
+            statistics.onEvent(event(1000));
+        }
+        statistics.onEvent(event(1_000_000));
+
+        BindingStatistics.Counters counters = statistics.getCounters(Example.class,
+                                                                     BindingEvent.Operation.DESERIALIZE);
+        assertEquals(100, counters.getCount());
+        assertEquals(Duration.ofNanos(1023), counters.getPercentile(0.5));
+        assertEquals(Duration.ofNanos(1023), counters.getPercentile(0.99));
+        assertEquals(Duration.ofNanos(1048575), counters.getPercentile(1.0));
+        assertEquals(Duration.ofNanos(1_099_000 / 100), counters.getMeanTime());
+    }
+
+    @Test
+    public void unknownType_zeroCounters() throws Exception {
+
+        BindingStatistics.Counters counters = statistics.getCounters(String.class, BindingEvent.Operation.SERIALIZE);
+
+        assertEquals(0, counters.getCount());
+        assertEquals(Duration.ZERO, counters.getPercentile(0.99));
+    }
+
+    private static BindingEvent event(long nanos) {
+
+        return new BindingEvent(BindingEvent.Operation.DESERIALIZE,
+                                Example.class,
+                                BindingEvent.Flavor.STRING,
+                                10,
+                                nanos,
+                                null);
+    }
+
+    public static class Example {
+
+        private int value;
+
+        public int getValue() {
+
+            return value;
+        }
+
+        public void setValue(final int value) {
+
+            this.value = value;
+        }
+    }
+}
@@ -18,14 +18,24 @@ package io.devcon5.jsonb.jackson;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import javax.json.JsonObject;
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbConfig;
+import javax.json.bind.JsonbException;
 import javax.json.spi.JsonProvider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.devcon5.jsonb.Types;
+import io.devcon5.jsonp.jackson.JacksonJsonProvider;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -91,10 +101,256 @@ public class JacksonJsonbBuilderTest {
         assertEquals("{\"list\":[],\"value\":0}", result);
     }
 
+    @Test
+    public void withAccessorOptimizationWithoutModule_fallbackToReflection() throws Exception {
+        JacksonJsonbBuilder builder = new JacksonJsonbBuilder();
+        this.config.setProperty(JacksonJsonbBuilder.ACCESSOR_OPTIMIZATION, true);
+        assertSame(builder, builder.withConfig(config));
+
+        String result = builder.build().toJson(new Example());
+        assertEquals("{\"value\":0}", result);
+    }
+
+    @Test
+    public void withEquivalentConfig_mapperIsShared() throws Exception {
+        JacksonJsonb first = (JacksonJsonb) new JacksonJsonbBuilder().build();
+        JacksonJsonb second = (JacksonJsonb) new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.INCLUDE_EMPTY_VALUES, false))
+                .build();
+        JacksonJsonb different = (JacksonJsonb) new JacksonJsonbBuilder()
+                .withConfig(new JsonbConfig().withNullValues(true))
+                .build();
+
+        assertSame(first.getMapper(), second.getMapper());
+        assertNotSame(first.getMapper(), different.getMapper());
+    }
+
+    @Test
+    public void withEquivalentConfig_mergingMapperIsShared() throws Exception {
+        JacksonJsonb first = (JacksonJsonb) new JacksonJsonbBuilder().build();
+        JacksonJsonb second = (JacksonJsonb) new JacksonJsonbBuilder().build();
+
+        first.mergeJsonInto("{\"value\":1}", new Example());
+
+        assertSame(first.getMappers().merging(), second.getMappers().merging());
+        assertNotSame(first.getMapper(), first.getMappers().merging());
+    }
+
+    @Test
+    public void withEquivalentConfig_canonicalMapperIsShared() throws Exception {
+        JacksonJsonb first = (JacksonJsonb) new JacksonJsonbBuilder().build();
+        JacksonJsonb second = (JacksonJsonb) new JacksonJsonbBuilder().build();
+
+        first.toJson(new Example(), null, new ByteArrayOutputStream(), DigestSink.sha256(), true);
+
+        assertSame(first.getMappers().canonical(), second.getMappers().canonical());
+        assertNotSame(first.getMapper(), first.getMappers().canonical());
+    }
+
+    @Test
+    public void clearSharedMappers_newMapperIsCreated() throws Exception {
+        JacksonJsonb first = (JacksonJsonb) new JacksonJsonbBuilder().build();
+
+        JacksonJsonbBuilder.clearSharedMappers();
+        JacksonJsonb second = (JacksonJsonb) new JacksonJsonbBuilder().build();
+
+        assertNotSame(first.getMapper(), second.getMapper());
+        assertSame(second.getMapper(), ((JacksonJsonb) new JacksonJsonbBuilder().build()).getMapper());
+    }
+
+    @Test
+    public void withSharedMapperDisabled_mapperIsIsolated() throws Exception {
+        JacksonJsonb first = (JacksonJsonb) new JacksonJsonbBuilder().build();
+        JacksonJsonb isolated = (JacksonJsonb) new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.SHARED_MAPPER, false))
+                .build();
+
+        assertNotSame(first.getMapper(), isolated.getMapper());
+        assertEquals("{\"value\":0}", isolated.toJson(new Example()));
+    }
+
+    @Test
+    public void withSmileFormat_binaryRoundTrip() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.FORMAT, JacksonJsonbBuilder.FORMAT_SMILE))
+                .build();
+        Example example = new Example();
+        example.setName("Test");
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        jsonb.toJson(example, os);
+        byte[] data = os.toByteArray();
+        Example result = jsonb.fromJson(new ByteArrayInputStream(data), Example.class);
+
+        assertEquals(':', data[0]);
+        assertEquals(')', data[1]);
+        assertEquals("Test", result.getName());
+    }
+
+    @Test
+    public void withCborFormat_binaryRoundTrip() throws Exception {
+        JacksonJsonb jsonb = (JacksonJsonb) new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.FORMAT, "CBOR"))
+                .build();
+        Example example = new Example();
+        example.setName("Test");
+
+        byte[] data = jsonb.toJsonBytes(example);
+        Example result = jsonb.fromJson(data, Example.class);
+
+        assertEquals("CBOR", jsonb.getMapper().getFactory().getFormatName());
+        assertEquals("Test", result.getName());
+    }
+
+    @Test(expected = JsonbException.class)
+    public void withBinaryFormat_stringOutputFails() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.FORMAT, JacksonJsonbBuilder.FORMAT_SMILE))
+                .build();
+
+        jsonb.toJson(new Example());
+    }
+
+    @Test(expected = JsonbException.class)
+    public void withBinaryFormat_stringInputFails() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.FORMAT, JacksonJsonbBuilder.FORMAT_CBOR))
+                .build();
+
+        jsonb.fromJson("{}", Example.class);
+    }
+
+    @Test(expected = JsonbException.class)
+    public void withUnknownFormat() throws Exception {
+        new JacksonJsonbBuilder().withConfig(config.setProperty(JacksonJsonbBuilder.FORMAT, "xml")).build();
+    }
+
+    @Test
+    public void withSharedBufferRecycling_roundTrip() throws Exception {
+        JacksonJsonb jsonb = (JacksonJsonb) new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.BUFFER_RECYCLING,
+                                               JacksonJsonbBuilder.BUFFER_RECYCLING_SHARED))
+                .build();
+        Example example = new Example();
+        example.setName("Test");
+
+        String json = jsonb.toJson(example);
+        Example fromString = jsonb.fromJson(json, Example.class);
+        Example fromBytes = jsonb.fromJson(new ByteArrayInputStream(jsonb.toJsonBytes(example)), Example.class);
+
+        assertTrue(jsonb.getMapper().getFactory() instanceof SharedBufferJsonFactory);
+        assertEquals("{\"name\":\"Test\",\"value\":0}", json);
+        assertEquals("Test", fromString.getName());
+        assertEquals("Test", fromBytes.getName());
+    }
+
+    @Test(expected = JsonbException.class)
+    public void withSharedBufferRecyclingAndBinaryFormat() throws Exception {
+        new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.FORMAT, JacksonJsonbBuilder.FORMAT_SMILE)
+                                  .setProperty(JacksonJsonbBuilder.BUFFER_RECYCLING,
+                                               JacksonJsonbBuilder.BUFFER_RECYCLING_SHARED))
+                .build();
+    }
+
+    @Test(expected = JsonbException.class)
+    public void withUnknownBufferRecycling() throws Exception {
+        new JacksonJsonbBuilder().withConfig(config.setProperty(JacksonJsonbBuilder.BUFFER_RECYCLING, "none")).build();
+    }
+
+    @Test
+    public void withOutputCacheByPropertyConfig() throws Exception {
+        OutputCache cache = new OutputCache(1024).cache(Example.class, Example::getName);
+        Jsonb jsonb = new JacksonJsonbBuilder().withConfig(config.setProperty(JacksonJsonbBuilder.OUTPUT_CACHE, cache))
+                                               .build();
+        Example example = new Example();
+        example.setName("Test");
+
+        jsonb.toJson(example);
+        jsonb.toJson(example);
+
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void withInputLimitsByPropertyConfig() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.MAX_INPUT_SIZE, 64)
+                                  .setProperty(JacksonJsonbBuilder.MAX_NESTING_DEPTH, 2)
+                                  .setProperty(JacksonJsonbBuilder.MAX_STRING_LENGTH, 8)
+                                  .setProperty(JacksonJsonbBuilder.MAX_NUMBER_LENGTH, 4)
+                                  .setProperty(JacksonJsonbBuilder.MAX_COLLECTION_SIZE, 3))
+                .build();
+
+        assertEquals("Test", jsonb.fromJson("{\"name\":\"Test\",\"list\":[\"a\"]}", Example.class).getName());
+        try {
+            jsonb.fromJson("{\"name\":\"Test\",\"list\":[\"a\",\"b\",\"c\",\"d\"]}", Example.class);
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertTrue(e.getCause().getMessage().contains("maximum of 3"));
+        }
+    }
+
+    @Test
+    public void withInputLimitsByLongPropertyConfig() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder()
+                .withConfig(config.setProperty(JacksonJsonbBuilder.MAX_INPUT_SIZE, 64L)
+                                  .setProperty(JacksonJsonbBuilder.MAX_NESTING_DEPTH, 2L)
+                                  .setProperty(JacksonJsonbBuilder.MAX_STRING_LENGTH, 8L)
+                                  .setProperty(JacksonJsonbBuilder.MAX_NUMBER_LENGTH, 4L)
+                                  .setProperty(JacksonJsonbBuilder.MAX_COLLECTION_SIZE, 3L))
+                .build();
+
+        try {
+            jsonb.fromJson("{\"name\":\"Test\",\"list\":[\"a\",\"b\",\"c\",\"d\"]}", Example.class);
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertTrue(e.getCause().getMessage().contains("maximum of 3"));
+        }
+    }
+
+    @Test
+    public void withWarmUpTypesByPropertyConfig() throws Exception {
+        JacksonJsonbBuilder builder = new JacksonJsonbBuilder();
+        this.config.setProperty(JacksonJsonbBuilder.WARM_UP_TYPES, Example.class.getName() + ", java.lang.String");
+        assertSame(builder, builder.withConfig(config));
+
+        JacksonJsonb jsonb = (JacksonJsonb) builder.withWarmUpTypes(Types.listOf(Example.class)).build();
+
+        assertEquals(3, jsonb.getReaderCache().size());
+        assertEquals(3, jsonb.getWriterCache().size());
+        assertTrue(jsonb.getWarmUpDuration().compareTo(Duration.ZERO) > 0);
+        jsonb.fromJson("[{}]", Types.listOf(Example.class));
+        assertEquals(1, jsonb.getReaderCache().getHits());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withUnknownWarmUpType() throws Exception {
+        new JacksonJsonbBuilder().withConfig(config.setProperty(JacksonJsonbBuilder.WARM_UP_TYPES, "not.a.Type"));
+    }
+
+    @Test
+    public void build_bindsJsonpValues() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder().build();
+
+        JsonObject object = jsonb.fromJson("{\"name\":\"Test\",\"list\":[1.50]}", JsonObject.class);
+
+        assertEquals("Test", object.getString("name"));
+        assertEquals("{\"name\":\"Test\",\"list\":[1.50]}", jsonb.toJson(object));
+    }
+
     @Test
     public void withProvider() throws Exception {
         JacksonJsonbBuilder builder = new JacksonJsonbBuilder();
         assertSame(builder, builder.withProvider(prov));
+        assertSame(prov, ((JacksonJsonb) builder.build()).getJsonProvider());
+    }
+
+    @Test
+    public void build_defaultJsonProvider() throws Exception {
+        Jsonb jsonb = new JacksonJsonbBuilder().build();
+
+        assertTrue(((JacksonJsonb) jsonb).getJsonProvider() instanceof JacksonJsonProvider);
     }
 
     @Test
@@ -16,23 +16,66 @@
 
 package io.devcon5.jsonb.jackson;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import javax.json.JsonObject;
+import javax.json.bind.JsonbException;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.devcon5.jsonb.Types;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class JacksonJsonbTest {
 
     private static final String REF_JSON = "{\"name\":\"Test\",\"value\":12}";
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private JacksonJsonb subject;
 
     private Example example;
@@ -91,6 +134,416 @@ public class JacksonJsonbTest {
         assertResultIsOk(ex);
     }
 
+    @Test
+    public void fromJsonByteArrayAndType() throws Exception {
+        Example ex = subject.fromJson(REF_JSON.getBytes(StandardCharsets.UTF_8), Example.class);
+        assertResultIsOk(ex);
+    }
+
+    @Test
+    public void fromJsonByteArrayRangeAndType() throws Exception {
+        byte[] data = ("xx" + REF_JSON + "yy").getBytes(StandardCharsets.UTF_8);
+        Example ex = subject.fromJson(data, 2, data.length - 4, Example.class);
+        assertResultIsOk(ex);
+    }
+
+    @Test
+    public void fromJsonHeapByteBufferAndType() throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(("xx" + REF_JSON).getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+
+        Example ex = subject.fromJson(buffer.slice(), Example.class);
+
+        assertResultIsOk(ex);
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void fromJsonDirectByteBufferAndType() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        buffer.put(REF_JSON.getBytes(StandardCharsets.UTF_8)).flip();
+
+        Example ex = subject.fromJson(buffer, Example.class);
+
+        assertResultIsOk(ex);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void fromJsonStreamInputStreamAndClass() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream is = new ByteArrayInputStream(("[" + REF_JSON + "," + REF_JSON + "]").getBytes()) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        try (Stream<Example> stream = subject.fromJsonStream(is, Example.class)) {
+            List<Example> result = stream.collect(Collectors.toList());
+            assertEquals(2, result.size());
+            result.forEach(this::assertResultIsOk);
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void fromJsonStreamInputStreamAndGenericType() throws Exception {
+        InputStream is = new ByteArrayInputStream("[[1,2],[],[3]]".getBytes());
+
+        try (Stream<List<Integer>> stream = subject.fromJsonStream(is, Types.listOf(Integer.class))) {
+            assertEquals(Arrays.asList(2, 0, 1), stream.map(List::size).collect(Collectors.toList()));
+        }
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonStreamWithInvalidElement() throws Exception {
+        InputStream is = new ByteArrayInputStream(("[" + REF_JSON + ",{\"value\":\"x\"}]").getBytes());
+
+        try (Stream<Example> stream = subject.fromJsonStream(is, Example.class)) {
+            stream.forEach(this::assertResultIsOk);
+        }
+    }
+
+    @Test
+    public void fromJsonStreamWithMalformedStart_inputIsClosed() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream is = new ByteArrayInputStream("x".getBytes()) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        try {
+            subject.fromJsonStream(is, Example.class);
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertTrue(closed.get());
+        }
+    }
+
+    @Test
+    public void fromJsonParallelInputStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream is = new ByteArrayInputStream(largeArray(100_000)) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        List<List<String>> result = subject.fromJsonParallel(is, Types.listOf(String.class), new ForkJoinPool(4));
+
+        assertLargeArray(100_000, result);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void fromJsonParallelBytes() throws Exception {
+        List<List<String>> result = subject.fromJsonParallel(largeArray(100_000),
+                                                             Types.listOf(String.class),
+                                                             new ForkJoinPool(4));
+
+        assertLargeArray(100_000, result);
+    }
+
+    @Test
+    public void fromJsonParallelClass() throws Exception {
+        byte[] json = ("[" + REF_JSON + ", " + REF_JSON + "]").getBytes();
+
+        List<Example> result = subject.fromJsonParallel(json, Example.class);
+
+        assertEquals(2, result.size());
+        result.forEach(this::assertResultIsOk);
+    }
+
+    @Test
+    public void fromJsonParallelEmpty() throws Exception {
+        assertTrue(subject.fromJsonParallel(new ByteArrayInputStream(" [ ] ".getBytes()), Example.class).isEmpty());
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonParallelWithInvalidElement() throws Exception {
+        byte[] json = ("[" + REF_JSON + ",{\"value\":\"x\"}]").getBytes();
+
+        subject.fromJsonParallel(new ByteArrayInputStream(json), Example.class);
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonParallelWithBinaryFormat() throws Exception {
+        subject = new JacksonJsonb(new ObjectMapper(new SmileFactory()));
+
+        subject.fromJsonParallel(new byte[0], Example.class);
+    }
+
+    private static byte[] largeArray(final int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            json.append(i == 0 ? "" : ",\n").append("[\"").append(i).append("\",\"[,]{\\\"}\"]");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void assertLargeArray(final int size, final List<List<String>> result) {
+        assertEquals(size, result.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(Arrays.asList(String.valueOf(i), "[,]{\"}"), result.get(i));
+        }
+    }
+
+    @Test
+    public void fromJsonLinesInputStreamAndClass() throws Exception {
+        InputStream is = new ByteArrayInputStream((REF_JSON + "\n" + REF_JSON + "\n\n" + REF_JSON).getBytes());
+
+        try (Stream<Example> stream = subject.fromJsonLines(is, Example.class)) {
+            List<Example> result = stream.collect(Collectors.toList());
+            assertEquals(3, result.size());
+            result.forEach(this::assertResultIsOk);
+        }
+    }
+
+    @Test
+    public void fromJsonLinesInputStreamAndGenericType_arraysAreValues() throws Exception {
+        InputStream is = new ByteArrayInputStream("[1,2]\n[]\n[3]\n".getBytes());
+
+        try (Stream<List<Integer>> stream = subject.fromJsonLines(is, Types.listOf(Integer.class))) {
+            assertEquals(Arrays.asList(2, 0, 1), stream.map(List::size).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void fromJsonWithSameType_readerIsCached() throws Exception {
+
+        subject.fromJson(REF_JSON, (Type)Example.class);
+        subject.fromJson(new StringReader(REF_JSON), (Type)Example.class);
+        Example ex = subject.fromJson(REF_JSON, Example.class);
+
+        assertResultIsOk(ex);
+        assertEquals(1, subject.getReaderCache().getMisses());
+        assertEquals(2, subject.getReaderCache().getHits());
+        assertEquals(1, subject.getReaderCache().size());
+    }
+
+    @Test
+    public void fromJsonWithExhaustedCache_readerIsNotRetained() throws Exception {
+
+        this.subject = new JacksonJsonb(new ObjectMapper(), 0);
+
+        assertResultIsOk(subject.fromJson(REF_JSON, Example.class));
+        assertResultIsOk(subject.fromJson(REF_JSON, Example.class));
+        assertEquals(2, subject.getReaderCache().getMisses());
+        assertEquals(0, subject.getReaderCache().size());
+    }
+
+    @Test
+    public void fromJsonWithFullCache_unusedReaderIsEvicted() throws Exception {
+
+        this.subject = new JacksonJsonb(new ObjectMapper(), 2);
+
+        subject.fromJson(REF_JSON, Example.class);
+        subject.fromJson("\"a\"", String.class);
+        subject.fromJson(REF_JSON, Example.class);
+        subject.fromJson("1", Integer.class);
+        subject.fromJson(REF_JSON, Example.class);
+
+        assertEquals(3, subject.getReaderCache().getMisses());
+        assertEquals(2, subject.getReaderCache().getHits());
+        assertEquals(1, subject.getReaderCache().getEvictions());
+        assertEquals(2, subject.getReaderCache().size());
+    }
+
+    @Test
+    public void fromJsonLazy_bindsPropertiesOnAccess() throws Exception {
+        String json = "{\"name\":\"Test\",\"value\":12,\"active\":true,\"tags\":[\"a\",\"b\"],"
+                + "\"ignored\":{\"deep\":[1,{}]},\"renamed\":\"other\",\"reference\":{\"id\":\"r1\"}}";
+
+        LazyDocument document = subject.fromJsonLazy(json, LazyDocument.class);
+
+        assertEquals("Test", document.getName());
+        assertEquals(12, document.getValue());
+        assertTrue(document.isActive());
+        assertEquals(Arrays.asList("a", "b"), document.getTags());
+        assertSame(document.getTags(), document.getTags());
+        assertEquals("other", document.getOther());
+        assertEquals("r1", document.getReference().getId());
+        assertSame(document.getReference(), document.getReference());
+        assertEquals("{\"id\":\"r1\"}", document.getReference().toString());
+        assertEquals(0L, document.getMissing());
+        assertEquals(json, document.toString());
+        assertTrue(document.equals(document));
+    }
+
+    @Test
+    public void fromJsonLazy_defaultGetterIsNotBound() throws Exception {
+        LazyDocument document = subject.fromJsonLazy("{\"name\":\"Test\",\"title\":\"json\"}", LazyDocument.class);
+
+        assertEquals("Title of Test", document.getTitle());
+    }
+
+    @Test
+    public void fromJsonLazy_invokesDefaultMethods() throws Exception {
+        LazyDocument document = subject.fromJsonLazy("{\"name\":\"Test\",\"value\":12}", LazyDocument.class);
+
+        assertEquals("doc:Test=12", document.describe("doc:"));
+    }
+
+    @Test
+    public void fromJsonLazy_missingAndNullValues() throws Exception {
+        LazyDocument document = subject.fromJsonLazy("{\"name\":null,\"reference\":null}".getBytes(), LazyDocument.class);
+
+        assertNull(document.getName());
+        assertNull(document.getReference());
+        assertNull(document.getTags());
+        assertEquals(0, document.getValue());
+        assertFalse(document.isActive());
+        assertNull(subject.fromJsonLazy("null", LazyDocument.class));
+    }
+
+    @Test
+    public void fromJsonLazy_invalidValueFailsOnAccess() throws Exception {
+        LazyDocument document = subject.fromJsonLazy("{\"name\":\"Test\",\"value\":\"x\"}", LazyDocument.class);
+
+        assertEquals("Test", document.getName());
+        try {
+            document.getValue();
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertTrue(e.getMessage().contains("value"));
+        }
+    }
+
+    @Test
+    public void fromJsonLazyWithBinaryFormat() throws Exception {
+        subject = new JacksonJsonb(new ObjectMapper(new SmileFactory()));
+
+        try {
+            subject.fromJsonLazy(new byte[0], LazyDocument.class);
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertEquals("Lazy binding is not supported by format Smile", e.getMessage());
+        }
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonLazy_malformed() throws Exception {
+        subject.fromJsonLazy("{\"name\":\"Test\",\"tags\":[1,}", LazyDocument.class);
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonLazy_noObject() throws Exception {
+        subject.fromJsonLazy("[1]", LazyDocument.class);
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonLazy_noInterface() throws Exception {
+        subject.fromJsonLazy(REF_JSON, Example.class);
+    }
+
+    @Test
+    public void isLazy_applicationInterfacesOnly() throws Exception {
+        assertTrue(LazyObjects.isLazy(LazyDocument.class));
+        assertFalse(LazyObjects.isLazy(Example.class));
+        assertFalse(LazyObjects.isLazy(List.class));
+        assertFalse(LazyObjects.isLazy(JsonObject.class));
+        assertFalse(LazyObjects.isLazy(TreeNode.class));
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonLazy_limitsApplyToSkippedValues() throws Exception {
+        subject = limited(new InputLimits(Long.MAX_VALUE, 2, 10, 10, 10));
+
+        subject.fromJsonLazy("{\"ignored\":[[1]]}", LazyDocument.class);
+    }
+
+    @Test
+    public void fromJsonInto_updatesPresentProperties() throws Exception {
+        Settings settings = settings();
+        Example nested = settings.getNested();
+        Map<String, Integer> limits = settings.getLimits();
+
+        Settings result = subject.fromJsonInto("{\"nested\":{\"value\":1},\"limits\":{\"b\":2}}", settings);
+
+        assertSame(settings, result);
+        assertEquals("settings", result.getName());
+        assertEquals(Arrays.asList("x"), result.getTags());
+        assertNotSame(nested, result.getNested());
+        assertNull(result.getNested().getName());
+        assertEquals(1, result.getNested().getValue());
+        assertEquals(Collections.singletonMap("b", 2), result.getLimits());
+        assertEquals(Collections.singletonMap("a", 1), limits);
+    }
+
+    @Test
+    public void fromJsonInto_fromStream() throws Exception {
+        Settings settings = settings();
+
+        subject.fromJsonInto(new ByteArrayInputStream("{\"name\":\"updated\"}".getBytes()), settings);
+        subject.fromJsonInto(new StringReader("{\"tags\":[\"y\"]}"), settings);
+
+        assertEquals("updated", settings.getName());
+        assertEquals(Arrays.asList("y"), settings.getTags());
+    }
+
+    @Test
+    public void mergeJsonInto_updatesNestedInstances() throws Exception {
+        Settings settings = settings();
+        Example nested = settings.getNested();
+
+        Settings result = subject.mergeJsonInto(
+                "{\"nested\":{\"value\":1},\"limits\":{\"b\":2},\"tags\":[\"y\"]}", settings);
+
+        assertSame(settings, result);
+        assertSame(nested, result.getNested());
+        assertEquals("Test", nested.getName());
+        assertEquals(1, nested.getValue());
+        assertEquals(Collections.singletonMap("b", 2), result.getLimits());
+        assertEquals(Arrays.asList("y"), result.getTags());
+    }
+
+    @Test
+    public void mergeJsonInto_repeatedly_containersAreReplaced() throws Exception {
+        Settings settings = settings();
+        String json = "{\"limits\":{\"b\":2},\"tags\":[\"a\",\"b\"]}";
+
+        for (int i = 0; i < 3; i++) {
+            subject.mergeJsonInto(json, settings);
+        }
+
+        assertEquals(Arrays.asList("a", "b"), settings.getTags());
+        assertEquals(Collections.singletonMap("b", 2), settings.getLimits());
+    }
+
+    @Test
+    public void mergeJsonInto_fromStream() throws Exception {
+        Settings settings = settings();
+        Example nested = settings.getNested();
+
+        subject.mergeJsonInto(new ByteArrayInputStream("{\"nested\":{\"value\":1}}".getBytes()), settings);
+        subject.mergeJsonInto(new StringReader("{\"nested\":{\"name\":\"merged\"}}"), settings);
+
+        assertSame(nested, settings.getNested());
+        assertEquals("merged", nested.getName());
+        assertEquals(1, nested.getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromJsonInto_null() throws Exception {
+        subject.fromJsonInto(REF_JSON, null);
+    }
+
+    private Settings settings() {
+        Settings settings = new Settings();
+        settings.setName("settings");
+        settings.setNested(this.example);
+        settings.setLimits(new HashMap<>(Collections.singletonMap("a", 1)));
+        settings.setTags(new ArrayList<>(Arrays.asList("x")));
+        return settings;
+    }
+
     @Test
     public void toJsonFromObject() throws Exception {
         String result = subject.toJson(this.example);
@@ -103,6 +556,29 @@ public class JacksonJsonbTest {
         assertEquals(REF_JSON, result);
     }
 
+    @Test
+    public void toJsonFromObjectAndDeclaredType_serializedAsDeclaredType() throws Exception {
+
+        ExtendedExample extended = new ExtendedExample();
+        extended.setName("Test");
+        extended.setValue(12);
+        extended.setExtra("extra");
+
+        assertEquals(REF_JSON, subject.toJson(extended, Example.class));
+        assertEquals("{\"name\":\"Test\",\"value\":12,\"extra\":\"extra\"}", subject.toJson(extended));
+    }
+
+    @Test
+    public void toJsonFromObjectAndGenericType_writerIsCached() throws Exception {
+
+        String result = subject.toJson(Collections.singletonList(this.example), Types.listOf(Example.class));
+        subject.toJson(Collections.singletonList(this.example), Types.listOf(Example.class), new StringWriter());
+
+        assertEquals("[" + REF_JSON + "]", result);
+        assertEquals(1, subject.getWriterCache().getMisses());
+        assertEquals(1, subject.getWriterCache().getHits());
+    }
+
     @Test
     public void toJsonFromObjectToWriter() throws Exception {
         StringWriter writer = new StringWriter();
@@ -137,11 +613,750 @@ public class JacksonJsonbTest {
         assertEquals(REF_JSON, result);
     }
 
+    @Test
+    public void toJsonParallel_identicalToSequential() throws Exception {
+        List<Example> examples = largeExampleList(10_000);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+        subject.toJson(examples, expected);
+        subject.toJsonParallel(new LinkedList<>(examples), actual);
+
+        assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()));
+    }
+
+    @Test
+    public void toJsonParallelWithElementType_identicalToSequential() throws Exception {
+        Example[] examples = largeExampleList(10_000).toArray(new Example[0]);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+        subject.toJson(Arrays.asList(examples), Types.listOf(Example.class), expected);
+        subject.toJsonParallel(examples, Example.class, actual, new ForkJoinPool(4));
+
+        assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()));
+        assertFalse(new String(actual.toByteArray(), StandardCharsets.UTF_8).contains("extra"));
+    }
+
+    @Test
+    public void toJsonParallelWithIndentation_identicalToSequential() throws Exception {
+        subject = new JacksonJsonb(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT));
+        List<Example> examples = largeExampleList(1_000);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+        subject.toJson(examples, expected);
+        subject.toJsonParallel(examples, actual);
+
+        assertTrue(Arrays.equals(expected.toByteArray(), actual.toByteArray()));
+    }
+
+    @Test
+    public void toJsonParallelEmpty() throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        subject.toJsonParallel(Collections.emptyList(), os);
+
+        assertEquals("[]", new String(os.toByteArray()));
+    }
+
+    @Test
+    public void toJsonParallelSmallCollection_writtenSequentially() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        pool.shutdown();
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        subject.toJsonParallel(Arrays.asList(1, 2), Integer.class, os, pool);
+
+        assertEquals("[1,2]", new String(os.toByteArray()));
+    }
+
+    @Test(expected = JsonbException.class)
+    public void toJsonParallelWithInvalidElement() throws Exception {
+        List<Object> elements = new ArrayList<>(largeExampleList(10_000));
+        elements.add(5_000, new Object());
+
+        subject.toJsonParallel(elements, new ByteArrayOutputStream());
+    }
+
+    private static List<Example> largeExampleList(final int size) {
+        List<Example> examples = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Example example = i % 3 == 0 ? new ExtendedExample() : new Example();
+            example.setName("example \"" + i + "\"");
+            example.setValue(i);
+            if (example instanceof ExtendedExample) {
+                ((ExtendedExample) example).setExtra("extra");
+            }
+            examples.add(i % 100 == 0 ? null : example);
+        }
+        return examples;
+    }
+
+    @Test
+    public void fromJsonPath() throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.write(file, REF_JSON.getBytes(StandardCharsets.UTF_8));
+
+        Example result = subject.fromJson(file, Example.class);
+
+        assertResultIsOk(result);
+    }
+
+    @Test(expected = JsonbException.class)
+    public void fromJsonPath_missingFile() throws Exception {
+        subject.fromJson(folder.getRoot().toPath().resolve("missing.json"), Example.class);
+    }
+
+    @Test
+    public void toJsonPath_replacesFile() throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[4096]);
+
+        subject.toJson(this.example, file);
+
+        assertEquals(REF_JSON, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void toJsonPath_largerThanBuffer_roundTrip() throws Exception {
+        Path file = folder.newFile().toPath();
+        List<Example> examples = largeExampleList(100_000);
+
+        subject.toJson(examples, file);
+
+        assertTrue(Files.size(file) > FileChannelOutputStream.BUFFER_SIZE);
+        assertEquals(subject.toJson(examples), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        List<ExtendedExample> result = subject.fromJson(file, Types.listOf(ExtendedExample.class));
+        assertEquals(examples.size(), result.size());
+        assertEquals("example \"1\"", result.get(1).getName());
+    }
+
+    @Test
+    public void toJsonWithOutputCache_servesCachedOutput() throws Exception {
+        OutputCache cache = new OutputCache(1024).cache(Example.class, Example::getName);
+        subject = new JacksonJsonb(new ObjectMapper(), JacksonJsonb.DEFAULT_TYPE_CACHE_SIZE, null,
+                                   InputLimits.UNLIMITED, cache);
+
+        assertEquals(REF_JSON, subject.toJson(this.example));
+        this.example.setValue(13);
+
+        assertEquals(REF_JSON, subject.toJson(this.example));
+        StringWriter writer = new StringWriter();
+        subject.toJson(this.example, writer);
+        assertEquals(REF_JSON, writer.toString());
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        subject.toJson(this.example, os);
+        assertEquals(REF_JSON, new String(os.toByteArray(), StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        subject.toJson(this.example, buffer);
+        assertEquals(REF_JSON.length(), buffer.position());
+        byte[] bytes = subject.toJsonBytes(this.example);
+        bytes[0] = 0;
+        assertEquals(REF_JSON, new String(subject.toJsonBytes(this.example), StandardCharsets.UTF_8));
+        assertEquals(6, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        this.example.setName("Changed");
+        assertEquals("{\"name\":\"Changed\",\"value\":13}", subject.toJson(this.example));
+    }
+
+    @Test
+    public void toJsonWithDigest() throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        byte[] digest = subject.toJson(this.example, os, DigestSink.sha256());
+
+        assertEquals(REF_JSON, new String(os.toByteArray(), StandardCharsets.UTF_8));
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(REF_JSON.getBytes(StandardCharsets.UTF_8)),
+                          digest);
+    }
+
+    @Test
+    public void toJsonWithChecksum() throws Exception {
+        CRC32 crc = new CRC32();
+        crc.update(REF_JSON.getBytes(StandardCharsets.UTF_8));
+
+        byte[] digest = subject.toJson(this.example, new ByteArrayOutputStream(), DigestSink.crc32());
+
+        assertEquals(crc.getValue(), ByteBuffer.wrap(digest).getLong());
+    }
+
+    @Test
+    public void digestOfSingleBytes() throws Exception {
+        byte[] data = REF_JSON.getBytes(StandardCharsets.UTF_8);
+        DigestSink sha = DigestSink.sha256();
+        DigestSink crc = DigestSink.crc32();
+        CRC32 expectedCrc = new CRC32();
+        expectedCrc.update(data);
+
+        try (OutputStream shaOut = sha.wrap(new ByteArrayOutputStream());
+             OutputStream crcOut = crc.wrap(new ByteArrayOutputStream())) {
+            for (byte b : data) {
+                shaOut.write(b);
+                crcOut.write(b);
+            }
+        }
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), sha.getDigest());
+        assertEquals(expectedCrc.getValue(), ByteBuffer.wrap(crc.getDigest()).getLong());
+    }
+
+    @Test
+    public void toJsonWithDigest_canonical() throws Exception {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("b", 2);
+        first.put("a", this.example);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("a", this.example);
+        second.put("b", 2);
+        ExtendedExample extended = new ExtendedExample();
+        extended.setName("Test");
+        extended.setExtra("extra");
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        byte[] firstDigest = subject.toJson(first, null, os, DigestSink.sha256(), true);
+        byte[] secondDigest = subject.toJson(second, null, new ByteArrayOutputStream(), DigestSink.sha256(), true);
+        byte[] unorderedDigest = subject.toJson(first, new ByteArrayOutputStream(), DigestSink.sha256());
+        ByteArrayOutputStream extendedOs = new ByteArrayOutputStream();
+        subject.toJson(extended, null, extendedOs, DigestSink.sha256(), true);
+
+        assertEquals("{\"a\":" + REF_JSON + ",\"b\":2}", new String(os.toByteArray(), StandardCharsets.UTF_8));
+        assertArrayEquals(firstDigest, secondDigest);
+        assertFalse(Arrays.equals(firstDigest, unorderedDigest));
+        assertEquals("{\"extra\":\"extra\",\"name\":\"Test\",\"value\":0}",
+                     new String(extendedOs.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void digestToETag() throws Exception {
+        assertEquals("\"00ff7f\"", DigestSink.toETag(new byte[]{0, (byte) 0xFF, 0x7F}));
+    }
+
+    @Test
+    public void toJsonBytesFromObject() throws Exception {
+        byte[] result = subject.toJsonBytes(this.example);
+        assertEquals(REF_JSON, new String(result, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void toJsonBytesFromObjectAndType() throws Exception {
+        byte[] result = subject.toJsonBytes(this.example, Example.class);
+        assertEquals(REF_JSON, new String(result, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void toJsonFromObjectToDirectByteBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        subject.toJson(this.example, buffer);
+
+        buffer.flip();
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        assertEquals(REF_JSON, new String(result, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void toJsonFromObjectAndTypeToHeapByteBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        subject.toJson(this.example, Example.class, buffer);
+
+        assertEquals(REF_JSON, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = JsonbException.class)
+    public void toJsonFromObjectToSmallByteBuffer() throws Exception {
+        subject.toJson(this.example, ByteBuffer.allocate(8));
+    }
+
+    @Test
+    public void toJsonFromStreamToOutputStream() throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        subject.toJson(Stream.of(this.example, this.example), os);
+
+        assertEquals("[" + REF_JSON + "," + REF_JSON + "]", new String(os.toByteArray()));
+    }
+
+    @Test
+    public void toJsonFromEmptyIteratorToOutputStream() throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        subject.toJson(Collections.emptyIterator(), os);
+
+        assertEquals("[]", new String(os.toByteArray()));
+    }
+
+    @Test
+    public void toJsonFromIteratorToOutputStream_closedUnlessAutoCloseDisabled() throws Exception {
+        AtomicInteger closes = new AtomicInteger();
+        ByteArrayOutputStream os = new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                closes.incrementAndGet();
+                super.close();
+            }
+        };
+
+        subject.toJson(Collections.singletonList(this.example).iterator(), os);
+        new JacksonJsonb(new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET))
+                .toJson(Collections.singletonList(this.example).iterator(), os);
+
+        assertEquals(1, closes.get());
+        assertEquals("[" + REF_JSON + "][" + REF_JSON + "]", new String(os.toByteArray()));
+    }
+
+    @Test
+    public void toJsonFromIteratorAndTypeToOutputStream_flushedInInterval() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream os = new ByteArrayOutputStream() {
+            @Override
+            public void flush() throws IOException {
+                flushes.incrementAndGet();
+                super.flush();
+            }
+        };
+        ExtendedExample extended = new ExtendedExample();
+        extended.setName("Test");
+        extended.setValue(12);
+        extended.setExtra("extra");
+
+        subject.toJson(Collections.nCopies(5, extended).iterator(), Example.class, os, 2);
+
+        assertEquals("[" + String.join(",", Collections.nCopies(5, REF_JSON)) + "]", new String(os.toByteArray()));
+        assertEquals(2, flushes.get());
+    }
+
+    @Test
+    public void toJsonLinesFromStreamToOutputStream() throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        subject.toJsonLines(Stream.of(this.example, this.example), os);
+
+        assertEquals(REF_JSON + "\n" + REF_JSON + "\n", new String(os.toByteArray()));
+    }
+
+    @Test
+    public void toJsonLinesFromIteratorAndTypeToOutputStream_readBack() throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        subject.toJsonLines(Collections.nCopies(3, Arrays.asList(1, 2)).iterator(), Types.listOf(Integer.class), os);
+
+        assertEquals("[1,2]\n[1,2]\n[1,2]\n", new String(os.toByteArray()));
+        try (Stream<List<Integer>> stream = subject.fromJsonLines(new ByteArrayInputStream(os.toByteArray()),
+                                                                  Types.listOf(Integer.class))) {
+            assertEquals(3, stream.count());
+        }
+    }
+
+    @Test
+    public void fromJsonStringAtPointer() throws Exception {
+        String json = "{\"meta\":{\"items\":[0]},\"data\":{\"count\":2,\"items\":[{},"
+                + REF_JSON + "]},\"other\":[1,2]}";
+
+        Example ex = subject.fromJson(json, "/data/items/1", Example.class);
+        List<Example> items = subject.fromJson(json, "/data/items", Types.listOf(Example.class));
+
+        assertResultIsOk(ex);
+        assertEquals(2, items.size());
+        assertResultIsOk(items.get(1));
+    }
+
+    @Test
+    public void fromJsonReaderAtRootPointer() throws Exception {
+        assertResultIsOk(subject.fromJson(new StringReader(REF_JSON), "", Example.class));
+    }
+
+    @Test
+    public void fromJsonAtMissingPointer_null() throws Exception {
+        String json = "{\"data\":{\"items\":[1,2]}}";
+
+        assertNull(subject.fromJson(json, "/data/other", Example.class));
+        assertNull(subject.fromJson(json, "/data/items/2", Integer.class));
+        assertNull(subject.fromJson(json, "/data/items/x", Integer.class));
+        assertNull(subject.fromJson(json, "/data/items/0/x", Integer.class));
+        assertEquals(Integer.valueOf(2), subject.fromJson(json, "/data/items/1", Integer.class));
+    }
+
+    @Test
+    public void fromJsonInputStreamAtPointer_stopsReadingAfterTarget() throws Exception {
+        StringBuilder json = new StringBuilder("{\"data\":").append(REF_JSON).append(",\"rest\":[0");
+        for (int i = 0; i < 100_000; i++) {
+            json.append(",").append(i);
+        }
+        byte[] data = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        AtomicInteger read = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream is = new ByteArrayInputStream(data) {
+
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                int n = super.read(b, off, len);
+                read.addAndGet(Math.max(n, 0));
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+            }
+        };
+
+        Example ex = subject.fromJson(is, "/data", Example.class);
+
+        assertResultIsOk(ex);
+        assertTrue(read.get() < data.length / 10);
+        assertTrue(closed.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromJsonAtInvalidPointer() throws Exception {
+        subject.fromJson(REF_JSON, "data", Example.class);
+    }
+
+    @Test
+    public void fromJsonAsyncByteBufferChunks() throws Exception {
+        byte[] data = REF_JSON.getBytes(StandardCharsets.UTF_8);
+        JsonFeeder<Example> feeder = subject.fromJsonAsync(Example.class);
+
+        ByteBuffer chunk = ByteBuffer.allocateDirect(5);
+        for (int i = 0; i < data.length; i += 5) {
+            chunk.clear();
+            chunk.put(data, i, Math.min(5, data.length - i)).flip();
+            assertFalse(feeder.isDone());
+            feeder.feed(chunk);
+            assertEquals(0, chunk.remaining());
+        }
+
+        assertTrue(feeder.isDone());
+        assertResultIsOk(feeder.getResult().toCompletableFuture().get());
+    }
+
+    @Test
+    public void fromJsonAsyncGenericType_contentAfterValueIgnored() throws Exception {
+        JsonFeeder<List<Example>> feeder = subject.fromJsonAsync(Types.listOf(Example.class));
+
+        feeder.feed(ByteBuffer.wrap(("[" + REF_JSON).getBytes(StandardCharsets.UTF_8)));
+        feeder.feed(ByteBuffer.wrap((",{}] [").getBytes(StandardCharsets.UTF_8)));
+        feeder.endOfInput();
+
+        List<Example> result = feeder.getResult().toCompletableFuture().get();
+        assertEquals(2, result.size());
+        assertResultIsOk(result.get(0));
+    }
+
+    @Test
+    public void fromJsonAsyncRootNumber_completedAtEndOfInput() throws Exception {
+        JsonFeeder<Integer> feeder = subject.fromJsonAsync(Integer.class);
+
+        feeder.feed("12".getBytes(StandardCharsets.UTF_8), 0, 2);
+        feeder.feed("34".getBytes(StandardCharsets.UTF_8), 0, 2);
+        assertFalse(feeder.isDone());
+        feeder.endOfInput();
+
+        assertEquals(Integer.valueOf(1234), feeder.getResult().toCompletableFuture().get());
+    }
+
+    @Test
+    public void fromJsonAsyncIncomplete_failed() throws Exception {
+        JsonFeeder<Example> feeder = subject.fromJsonAsync(Example.class);
+
+        feeder.feed(ByteBuffer.wrap("{\"name\":".getBytes(StandardCharsets.UTF_8)));
+        feeder.endOfInput();
+
+        assertTrue(feeder.getResult().toCompletableFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    public void fromJsonAsyncInvalid_failed() throws Exception {
+        JsonFeeder<Example> feeder = subject.fromJsonAsync(Example.class);
+
+        feeder.feed(ByteBuffer.wrap("{\"value\":\"x\"}".getBytes(StandardCharsets.UTF_8)));
+
+        try {
+            feeder.getResult().toCompletableFuture().join();
+            fail("CompletionException expected");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof JsonbException);
+        }
+    }
+
+    @Test
+    public void limitedInput_withinLimits() throws Exception {
+        this.subject = limited(new InputLimits(REF_JSON.length(), 1, 5, 2, 2));
+
+        assertResultIsOk(subject.fromJson(REF_JSON, Example.class));
+        assertResultIsOk(subject.fromJson(new StringReader(REF_JSON), Example.class));
+        assertResultIsOk(subject.fromJson(REF_JSON.getBytes(StandardCharsets.UTF_8), Example.class));
+    }
+
+    @Test
+    public void limitedInput_stringSizeCountsChars() throws Exception {
+        String json = "{\"name\":\"\u00e4\u00f6\u00fc\"}";
+        this.subject = limited(new InputLimits(json.length(), 10, 10, 10, 10));
+
+        assertEquals("\u00e4\u00f6\u00fc", subject.fromJson(json, Example.class).getName());
+        try {
+            subject.fromJson(json.getBytes(StandardCharsets.UTF_8), Example.class);
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertTrue(e.getCause().getMessage().contains("maximum size"));
+        }
+    }
+
+    @Test(expected = JsonbException.class)
+    public void limitedInput_nestingDepthExceeded() throws Exception {
+        this.subject = limited(new InputLimits(Long.MAX_VALUE, 2, 10, 10, 10));
+
+        subject.fromJson("[[[1]]]", Types.listOf(Types.listOf(Types.listOf(Integer.class))));
+    }
+
+    @Test(expected = JsonbException.class)
+    public void limitedInput_collectionSizeExceeded() throws Exception {
+        this.subject = limited(new InputLimits(Long.MAX_VALUE, 10, 10, 10, 2));
+
+        subject.fromJson(new ByteArrayInputStream("[1,2,3]".getBytes()), Types.listOf(Integer.class));
+    }
+
+    @Test(expected = JsonbException.class)
+    public void limitedInput_propertyCountExceeded() throws Exception {
+        this.subject = limited(new InputLimits(Long.MAX_VALUE, 10, 10, 10, 2));
+
+        subject.fromJson("{\"a\":1,\"b\":2,\"c\":3}", Types.mapOf(String.class, Integer.class));
+    }
+
+    @Test(expected = JsonbException.class)
+    public void limitedInput_stringLengthExceeded() throws Exception {
+        this.subject = limited(new InputLimits(Long.MAX_VALUE, 10, 4, 10, 10));
+
+        subject.fromJson(REF_JSON, Example.class);
+    }
+
+    @Test(expected = JsonbException.class)
+    public void limitedInput_numberLengthExceeded() throws Exception {
+        this.subject = limited(new InputLimits(Long.MAX_VALUE, 10, 10, 5, 10));
+
+        subject.fromJson("[123456]", Types.listOf(Long.class));
+    }
+
+    @Test(expected = JsonbException.class)
+    public void limitedInput_skippedContentChecked() throws Exception {
+        this.subject = limited(new InputLimits(Long.MAX_VALUE, 2, 10, 10, 10));
+
+        subject.fromJson("{\"skipped\":[[1]],\"name\":\"Test\"}", "/name", String.class);
+    }
+
+    @Test
+    public void limitedInput_streamSizeExceeded_stopsReading() throws Exception {
+        this.subject = limited(new InputLimits(100, 10, 10, 10, Integer.MAX_VALUE));
+        StringBuilder json = new StringBuilder("[0");
+        for (int i = 1; i < 100_000; i++) {
+            json.append(',').append(i);
+        }
+        byte[] data = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        AtomicInteger read = new AtomicInteger();
+        InputStream is = new ByteArrayInputStream(data) {
+
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                int n = super.read(b, off, len);
+                read.addAndGet(Math.max(n, 0));
+                return n;
+            }
+        };
+
+        try {
+            subject.fromJson(is, Types.listOf(Integer.class));
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertTrue(read.get() < data.length / 10);
+        }
+    }
+
+    @Test
+    public void limitedInput_asyncSizeExceeded() throws Exception {
+        this.subject = limited(new InputLimits(4, 10, 10, 10, 10));
+
+        JsonFeeder<List<Integer>> feeder = subject.fromJsonAsync(Types.listOf(Integer.class));
+        feeder.feed(ByteBuffer.wrap("[1,".getBytes()));
+        feeder.feed(ByteBuffer.wrap("2]".getBytes()));
+
+        assertTrue(feeder.getResult().toCompletableFuture().isCompletedExceptionally());
+    }
+
+    private static JacksonJsonb limited(final InputLimits limits) {
+        return new JacksonJsonb(new ObjectMapper(), JacksonJsonb.DEFAULT_TYPE_CACHE_SIZE, null, limits);
+    }
+
+    @Test
+    public void instrumentedFromJsonString() throws Exception {
+        List<BindingEvent> events = new ArrayList<>();
+        this.subject = new JacksonJsonb(new ObjectMapper(), JacksonJsonb.DEFAULT_TYPE_CACHE_SIZE, events::add);
+
+        subject.fromJson(REF_JSON, Example.class);
+
+        assertEquals(1, events.size());
+        BindingEvent event = events.get(0);
+        assertEquals(BindingEvent.Operation.DESERIALIZE, event.getOperation());
+        assertEquals(Example.class, event.getType());
+        assertEquals(BindingEvent.Flavor.STRING, event.getFlavor());
+        assertEquals(REF_JSON.length(), event.getSize());
+        assertFalse(event.isFailed());
+    }
+
+    @Test
+    public void instrumentedToJsonOutputStream() throws Exception {
+        List<BindingEvent> events = new ArrayList<>();
+        this.subject = new JacksonJsonb(new ObjectMapper(), JacksonJsonb.DEFAULT_TYPE_CACHE_SIZE, events::add);
+
+        subject.toJson(this.example, new ByteArrayOutputStream());
+
+        assertEquals(1, events.size());
+        BindingEvent event = events.get(0);
+        assertEquals(BindingEvent.Operation.SERIALIZE, event.getOperation());
+        assertEquals(Example.class, event.getType());
+        assertEquals(BindingEvent.Flavor.OUTPUT_STREAM, event.getFlavor());
+        assertEquals(REF_JSON.getBytes().length, event.getSize());
+    }
+
+    @Test
+    public void instrumentedToJsonOutputStream_runtimeFailure() throws Exception {
+        List<BindingEvent> events = new ArrayList<>();
+        this.subject = new JacksonJsonb(new ObjectMapper(), JacksonJsonb.DEFAULT_TYPE_CACHE_SIZE, events::add);
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(final int b) {
+                throw new IllegalStateException("closed");
+            }
+        };
+
+        try {
+            subject.toJson(this.example, failing);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals(1, events.size());
+            assertTrue(events.get(0).isFailed());
+            assertSame(e, events.get(0).getFailure());
+        }
+    }
+
+    @Test
+    public void instrumentedFromJsonInputStream_failure() throws Exception {
+        List<BindingEvent> events = new ArrayList<>();
+        this.subject = new JacksonJsonb(new ObjectMapper(), JacksonJsonb.DEFAULT_TYPE_CACHE_SIZE, events::add);
+
+        try {
+            subject.fromJson(new ByteArrayInputStream("{\"value\":\"x\"}".getBytes()), Example.class);
+            fail("JsonbException expected");
+        } catch (JsonbException e) {
+            assertEquals(1, events.size());
+            assertTrue(events.get(0).isFailed());
+            assertSame(e, events.get(0).getFailure());
+            assertEquals(BindingEvent.Flavor.INPUT_STREAM, events.get(0).getFlavor());
+        }
+    }
+
     @Test
     public void close() throws Exception {
 
     }
 
+    public interface LazyDocument {
+
+        String getName();
+
+        int getValue();
+
+        boolean isActive();
+
+        List<String> getTags();
+
+        @JsonProperty("renamed")
+        String getOther();
+
+        LazyReference getReference();
+
+        long getMissing();
+
+        default String getTitle() {
+            return "Title of " + getName();
+        }
+
+        default String describe(final String prefix) {
+            return prefix + getName() + "=" + getValue();
+        }
+    }
+
+    public interface LazyReference {
+
+        String getId();
+    }
+
+    public static class Settings {
+
+        private String name;
+        private Example nested;
+        private Map<String, Integer> limits;
+        private List<String> tags;
+
+        public String getName() {
+
+            return name;
+        }
+
+        public void setName(final String name) {
+
+            this.name = name;
+        }
+
+        public Example getNested() {
+
+            return nested;
+        }
+
+        public void setNested(final Example nested) {
+
+            this.nested = nested;
+        }
+
+        public Map<String, Integer> getLimits() {
+
+            return limits;
+        }
+
+        public void setLimits(final Map<String, Integer> limits) {
+
+            this.limits = limits;
+        }
+
+        public List<String> getTags() {
+
+            return tags;
+        }
+
+        public void setTags(final List<String> tags) {
+
+            this.tags = tags;
+        }
+    }
+
+    public static class ExtendedExample extends Example {
+
+        private String extra;
+
+        public String getExtra() {
+
+            return extra;
+        }
+
+        public void setExtra(final String extra) {
+
+            this.extra = extra;
+        }
+    }
+
     public static class Example {
 
         private String name;
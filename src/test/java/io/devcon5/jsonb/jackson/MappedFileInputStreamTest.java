@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedFileInputStreamTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void read_acrossRegions() throws Exception {
+        byte[] data = "[\"alpha\",\"beta\",\"gamma\"]".getBytes(StandardCharsets.UTF_8);
+        Path file = folder.newFile().toPath();
+        Files.write(file, data);
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = new MappedFileInputStream(channel, channel.size(), 5)) {
+            byte[] buffer = new byte[8];
+            int read;
+            while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+                result.write(buffer, 0, read);
+            }
+            assertEquals(-1, in.read());
+        }
+
+        assertArrayEquals(data, result.toByteArray());
+    }
+
+    @Test
+    public void parse_acrossRegions() throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "[\"alpha\",\"beta\",\"gamma\"]".getBytes(StandardCharsets.UTF_8));
+
+        List<?> result;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            result = new ObjectMapper().readValue(new MappedFileInputStream(channel, channel.size(), 3), List.class);
+        }
+
+        assertEquals(Arrays.asList("alpha", "beta", "gamma"), result);
+    }
+
+    @Test
+    public void read_emptyFile() throws Exception {
+        Path file = folder.newFile().toPath();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = new MappedFileInputStream(channel, channel.size())) {
+            assertEquals(-1, in.read());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class OutputCacheTest {
+
+    private final AtomicInteger encodings = new AtomicInteger();
+
+    @Test
+    public void get_encodesOncePerKey() throws Exception {
+        OutputCache cache = new OutputCache(1024).cache(String.class, s -> s);
+
+        byte[] first = cache.get("a", String.class, () -> encode(10));
+        byte[] second = cache.get("a", String.class, () -> encode(10));
+        cache.get("a", Object.class, () -> encode(10));
+
+        assertSame(first, second);
+        assertEquals(2, encodings.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1.0 / 3, cache.getHitRatio(), 0.0001);
+        assertEquals(20, cache.getMemoryUsage());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void get_notRegisteredOrNullKey_notCached() throws Exception {
+        OutputCache cache = new OutputCache(1024).cache(String.class, s -> s.isEmpty() ? null : s);
+
+        assertNull(cache.get(1, Integer.class, () -> encode(10)));
+        assertNull(cache.get("", String.class, () -> encode(10)));
+
+        assertEquals(0, encodings.get());
+        assertEquals(0, cache.getHitRatio(), 0);
+    }
+
+    @Test
+    public void get_registeredSupertype_cached() throws Exception {
+        OutputCache cache = new OutputCache(1024).cache(Serializable.class, Object::toString)
+                                                 .cache(Number.class, n -> "number");
+
+        cache.get(1, Integer.class, () -> encode(10));
+        cache.get(2, Integer.class, () -> encode(10));
+        cache.get("a", String.class, () -> encode(10));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void get_subtypesWithEqualId_cachedSeparately() throws Exception {
+        OutputCache cache = new OutputCache(1024).cache(Number.class, n -> "number");
+
+        byte[] integer = cache.get(1, Number.class, () -> encode(10));
+        byte[] decimal = cache.get(1.0, Number.class, () -> encode(20));
+
+        assertEquals(10, integer.length);
+        assertEquals(20, decimal.length);
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void get_exceedsMaxBytes_evictsLeastRecentlyUsed() throws Exception {
+        OutputCache cache = new OutputCache(30, 1).cache(String.class, s -> s);
+        cache.get("a", String.class, () -> encode(10));
+        cache.get("b", String.class, () -> encode(10));
+        cache.get("c", String.class, () -> encode(10));
+        cache.get("a", String.class, () -> encode(10));
+
+        cache.get("d", String.class, () -> encode(10));
+
+        assertEquals(3, cache.size());
+        assertEquals(30, cache.getMemoryUsage());
+        assertEquals(1, cache.getEvictions());
+        cache.get("a", String.class, () -> encode(10));
+        cache.get("b", String.class, () -> encode(10));
+        assertEquals(5, encodings.get());
+    }
+
+    @Test
+    public void get_largerThanSegment_notRetained() throws Exception {
+        OutputCache cache = new OutputCache(30, 1).cache(String.class, s -> s);
+
+        byte[] output = cache.get("a", String.class, () -> encode(31));
+
+        assertEquals(31, output.length);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMemoryUsage());
+    }
+
+    @Test
+    public void invalidateAll() throws Exception {
+        OutputCache cache = new OutputCache(1024).cache(String.class, s -> s);
+        byte[] output = cache.get("a", String.class, () -> encode(10));
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMemoryUsage());
+        assertArrayEquals(output, cache.get("a", String.class, () -> encode(10)));
+        assertEquals(2, encodings.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_invalidSize() throws Exception {
+        new OutputCache(0);
+    }
+
+    private byte[] encode(final int length) {
+        encodings.incrementAndGet();
+        return new byte[length];
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.devcon5.jsonb.jackson;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class ParallelArrayReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void read_elementLargerThanChunk() throws Exception {
+        char[] value = new char[3 * ParallelArrayReader.CHUNK_SIZE];
+        Arrays.fill(value, 'x');
+        String json = "[1, {\"a\":\"" + new String(value) + "\"}, [2]]";
+
+        List<Object> expected = Arrays.asList(1, Collections.singletonMap("a", new String(value)),
+                                              Collections.singletonList(2));
+        assertEquals(expected, readStream(json, InputLimits.UNLIMITED));
+        assertEquals(expected, readBytes(json, InputLimits.UNLIMITED));
+    }
+
+    @Test
+    public void read_nestedAndQuotedSeparators() throws Exception {
+        String json = "\n[ {\"a,]\":[1,2]} , \"\\\\\" ,\"\\\"]\", null ]\n";
+
+        List<Object> expected = Arrays.asList(Collections.singletonMap("a,]", Arrays.asList(1, 2)), "\\", "\"]", null);
+        assertEquals(expected, readStream(json, InputLimits.UNLIMITED));
+        assertEquals(expected, readBytes(json, InputLimits.UNLIMITED));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_noArray() throws Exception {
+        readBytes("{\"a\":1}", InputLimits.UNLIMITED);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_unclosedArray() throws Exception {
+        readStream("[1,2", InputLimits.UNLIMITED);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_mismatchedClosingBracket() throws Exception {
+        readBytes("[1,2}", InputLimits.UNLIMITED);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_trailingComma() throws Exception {
+        readStream("[1,2,]", InputLimits.UNLIMITED);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_missingComma() throws Exception {
+        readBytes("[1 2]", InputLimits.UNLIMITED);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_trailingContent() throws Exception {
+        readStream("[1,2] 3", InputLimits.UNLIMITED);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_collectionSizeExceeded() throws Exception {
+        readBytes("[1,2,3]", new InputLimits(Long.MAX_VALUE, 10, 10, 10, 2));
+    }
+
+    private List<Object> readStream(final String json, final InputLimits limits) throws IOException {
+        return reader(limits).read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<Object> readBytes(final String json, final InputLimits limits) throws IOException {
+        byte[] bytes = ("  " + json).getBytes(StandardCharsets.UTF_8);
+        return reader(limits).read(bytes, 2, bytes.length - 2);
+    }
+
+    private ParallelArrayReader<Object> reader(final InputLimits limits) {
+        return new ParallelArrayReader<>(mapper.getFactory(), mapper.readerFor(Object.class), new ForkJoinPool(2), limits);
+    }
+}
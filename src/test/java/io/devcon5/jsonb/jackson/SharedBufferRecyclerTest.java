@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonb.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class SharedBufferRecyclerTest {
+
+    @Test
+    public void releasedCharBuffer_isReused() throws Exception {
+        SharedBufferRecycler recycler = new SharedBufferRecycler(1);
+
+        char[] buffer = recycler.allocCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER);
+        recycler.releaseCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER, buffer);
+
+        assertSame(buffer, recycler.allocCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER));
+        assertNotSame(buffer, recycler.allocCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER));
+    }
+
+    @Test
+    public void releasedByteBuffer_isReusedOnOtherThread() throws Exception {
+        SharedBufferRecycler recycler = new SharedBufferRecycler(1);
+
+        byte[] buffer = recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER);
+        recycler.releaseBytes(BufferRecycler.BYTE_READ_IO_BUFFER, buffer);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertSame(buffer, executor.submit(
+                    () -> recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER)).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void tooSmallBuffer_isNotReused() throws Exception {
+        SharedBufferRecycler recycler = new SharedBufferRecycler(1);
+
+        char[] buffer = recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER);
+        recycler.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, buffer);
+        char[] larger = recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, buffer.length + 1);
+
+        assertTrue(larger.length > buffer.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noSlots() throws Exception {
+        new SharedBufferRecycler(0);
+    }
+
+    @Test
+    public void concurrentUse() throws Exception {
+        ObjectMapper mapper = new ObjectMapper(new SharedBufferJsonFactory(2));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final int value = i;
+                Callable<Boolean> task = () -> {
+                    for (int j = 0; j < 200; j++) {
+                        String json = mapper.writeValueAsString(new int[]{value, j});
+                        int[] result = mapper.readValue(json.getBytes("UTF-8"), int[].class);
+                        if (result[0] != value || result[1] != j) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+                results.add(executor.submit(task));
+            }
+            for (Future<Boolean> result : results) {
+                assertEquals(true, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.json.stream.JsonParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import org.junit.Test;
+
+public class JacksonJsonProviderTest {
+
+    private static final String REF_JSON = "{\"name\":\"Test\",\"values\":[1,2.50,true,false,null],\"inner\":{}}";
+
+    private final JacksonJsonProvider subject = new JacksonJsonProvider();
+
+    @Test
+    public void provider_notRegisteredAsService() throws Exception {
+        for (JsonProvider provider : ServiceLoader.load(JsonProvider.class)) {
+            assertFalse(provider instanceof JacksonJsonProvider);
+        }
+    }
+
+    @Test
+    public void parserEvents() throws Exception {
+        List<Event> events = new ArrayList<>();
+        try (JsonParser parser = subject.createParser(new StringReader(REF_JSON))) {
+            while (parser.hasNext()) {
+                Event event = parser.next();
+                events.add(event);
+                if (event == Event.KEY_NAME && "name".equals(parser.getString())) {
+                    assertEquals(Event.VALUE_STRING, parser.next());
+                    assertEquals("Test", parser.getString());
+                    events.add(Event.VALUE_STRING);
+                } else if (event == Event.VALUE_NUMBER && parser.isIntegralNumber()) {
+                    assertEquals(1, parser.getInt());
+                    assertEquals(1L, parser.getLong());
+                } else if (event == Event.VALUE_NUMBER) {
+                    assertEquals(new BigDecimal("2.50"), parser.getBigDecimal());
+                    assertEquals(2, parser.getInt());
+                }
+            }
+        }
+
+        assertEquals(Arrays.asList(Event.START_OBJECT,
+                                   Event.KEY_NAME, Event.VALUE_STRING,
+                                   Event.KEY_NAME, Event.START_ARRAY,
+                                   Event.VALUE_NUMBER, Event.VALUE_NUMBER,
+                                   Event.VALUE_TRUE, Event.VALUE_FALSE, Event.VALUE_NULL,
+                                   Event.END_ARRAY,
+                                   Event.KEY_NAME, Event.START_OBJECT, Event.END_OBJECT,
+                                   Event.END_OBJECT), events);
+    }
+
+    @Test(expected = JsonParsingException.class)
+    public void parserInvalidContent() throws Exception {
+        JsonParser parser = subject.createParser(new ByteArrayInputStream("{\"a\":x}".getBytes()));
+        while (parser.hasNext()) {
+            parser.next();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parserGetStringOnStructure() throws Exception {
+        JsonParser parser = subject.createParser(new StringReader("{}"));
+        parser.next();
+        parser.getString();
+    }
+
+    @Test
+    public void parserFromObject() throws Exception {
+        JsonObject object = subject.createObjectBuilder().add("a", 1).build();
+        JsonParser parser = subject.createParserFactory(null).createParser(object);
+
+        assertEquals(Event.START_OBJECT, parser.next());
+        assertEquals(Event.KEY_NAME, parser.next());
+        assertEquals(Event.VALUE_NUMBER, parser.next());
+        assertEquals(1, parser.getInt());
+        assertEquals(Event.END_OBJECT, parser.next());
+        assertFalse(parser.hasNext());
+    }
+
+    @Test
+    public void generator() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        try (JsonGenerator generator = subject.createGenerator(writer)) {
+            generator.writeStartObject()
+                     .write("name", "Test")
+                     .writeStartArray("values")
+                     .write(1)
+                     .write(new BigDecimal("2.50"))
+                     .write(true)
+                     .write(false)
+                     .writeNull()
+                     .writeEnd()
+                     .writeStartObject("inner")
+                     .writeEnd()
+                     .writeEnd();
+        }
+
+        assertEquals(REF_JSON, writer.toString());
+    }
+
+    @Test
+    public void generatorPrettyPrinting() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        subject.createGeneratorFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true))
+               .createGenerator(writer)
+               .writeStartObject()
+               .write("a", 1)
+               .writeEnd()
+               .close();
+
+        assertTrue(writer.toString().contains("\n"));
+    }
+
+    @Test(expected = JsonGenerationException.class)
+    public void generatorEndOutsideStructure() throws Exception {
+        subject.createGenerator(new StringWriter()).writeEnd();
+    }
+
+    @Test(expected = JsonGenerationException.class)
+    public void generatorValueWithoutName() throws Exception {
+        subject.createGenerator(new StringWriter()).writeStartObject().write(1);
+    }
+
+    @Test(expected = JsonGenerationException.class)
+    public void generatorIncomplete() throws Exception {
+        subject.createGenerator(new StringWriter()).writeStartArray().close();
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void generatorNaN() throws Exception {
+        subject.createGenerator(new StringWriter()).writeStartArray().write(Double.NaN);
+    }
+
+    @Test
+    public void readObject() throws Exception {
+        JsonObject object = subject.createReader(new StringReader(REF_JSON)).readObject();
+
+        assertEquals(JsonValue.ValueType.OBJECT, object.getValueType());
+        assertEquals(3, object.size());
+        assertEquals("Test", object.getString("name"));
+        assertEquals("default", object.getString("values", "default"));
+        JsonArray values = object.getJsonArray("values");
+        assertEquals(1, values.getInt(0));
+        assertEquals(new BigDecimal("2.50"), values.getJsonNumber(1).bigDecimalValue());
+        assertTrue(values.getBoolean(2));
+        assertFalse(values.getBoolean(3, true));
+        assertTrue(values.isNull(4));
+        assertSame(JsonValue.NULL, values.get(4));
+        assertTrue(object.getJsonObject("inner").isEmpty());
+        assertEquals(REF_JSON, object.toString());
+    }
+
+    @Test
+    public void readObject_equalsBuiltObject() throws Exception {
+        JsonObject object = subject.createReader(new StringReader(REF_JSON)).readObject();
+        JsonObject built = subject.createObjectBuilder()
+                                  .add("name", "Test")
+                                  .add("values", subject.createArrayBuilder()
+                                                        .add(1)
+                                                        .add(new BigDecimal("2.50"))
+                                                        .add(true)
+                                                        .add(false)
+                                                        .addNull())
+                                  .add("inner", subject.createObjectBuilder())
+                                  .build();
+
+        assertEquals(built, object);
+        assertEquals(built.hashCode(), object.hashCode());
+    }
+
+    @Test(expected = JsonParsingException.class)
+    public void readArrayFromObject() throws Exception {
+        subject.createReader(new StringReader(REF_JSON)).readArray();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readTwice() throws Exception {
+        JsonReader reader = subject.createReader(new StringReader("[]"));
+        reader.read();
+        reader.read();
+    }
+
+    @Test
+    public void writeObject_roundTrip() throws Exception {
+        JsonObject object = subject.createReader(new ByteArrayInputStream(REF_JSON.getBytes(StandardCharsets.UTF_8)))
+                                   .readObject();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        subject.createWriter(out).writeObject(object);
+
+        assertEquals(REF_JSON, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeForeignValue() throws Exception {
+        JsonString foreign = new JsonString() {
+
+            @Override
+            public String getString() {
+                return "foreign";
+            }
+
+            @Override
+            public CharSequence getChars() {
+                return getString();
+            }
+
+            @Override
+            public ValueType getValueType() {
+                return ValueType.STRING;
+            }
+        };
+        StringWriter writer = new StringWriter();
+
+        subject.createWriter(writer).writeArray(subject.createArrayBuilder().add(foreign).build());
+
+        assertEquals("[\"foreign\"]", writer.toString());
+    }
+
+    @Test
+    public void builder_builtObjectNotAffectedByFurtherChanges() throws Exception {
+        JsonObjectBuilder builder = subject.createObjectBuilder().add("a", 1);
+
+        JsonObject first = builder.build();
+        JsonObject second = builder.add("b", 2).build();
+
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertNotEquals(first, second);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void object_immutable() throws Exception {
+        subject.createObjectBuilder().build().put("a", JsonValue.TRUE);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017, DevCon5 GmbH, Switzerland
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.devcon5.jsonp.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonpModuleTest {
+
+    private ObjectMapper mapper;
+
+    @Before
+    public void setUp() throws Exception {
+        this.mapper = new ObjectMapper().registerModule(new JsonpModule());
+    }
+
+    @Test
+    public void readObject_viewOfTree() throws Exception {
+        JsonObject object = mapper.readValue("{\"a\":[1,\"x\"]}", JsonObject.class);
+
+        assertTrue(object instanceof JsonNodeObject);
+        assertEquals(1, object.getJsonArray("a").getInt(0));
+        assertEquals("x", object.getJsonArray("a").getString(1));
+    }
+
+    @Test
+    public void readStructureAndValues() throws Exception {
+        assertTrue(mapper.readValue("[]", JsonStructure.class) instanceof JsonArray);
+        assertEquals("x", mapper.readValue("\"x\"", JsonString.class).getString());
+        assertSame(JsonValue.TRUE, mapper.readValue("true", JsonValue.class));
+        assertSame(JsonValue.NULL, mapper.readValue("null", JsonValue.class));
+        assertNull(mapper.readValue("null", JsonObject.class));
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void readObjectFromArray() throws Exception {
+        mapper.readValue("[]", JsonObject.class);
+    }
+
+    @Test
+    public void writeValues() throws Exception {
+        String json = "{\"a\":[1,2.50,\"x\",true,null],\"b\":{}}";
+        JsonObject object = mapper.readValue(json, JsonObject.class);
+        JsonObject built = new JacksonJsonProvider().createObjectBuilder().add("c", object).build();
+
+        assertEquals(json, mapper.writeValueAsString(object));
+        assertEquals("{\"c\":" + json + "}", mapper.writeValueAsString(built));
+    }
+
+    @Test
+    public void beanWithJsonValueProperty() throws Exception {
+        Example example = mapper.readValue("{\"name\":\"n\",\"data\":{\"a\":1}}", Example.class);
+
+        assertEquals(1, example.getData().getInt("a"));
+        assertEquals("{\"name\":\"n\",\"data\":{\"a\":1}}", mapper.writeValueAsString(example));
+    }
+
+    public static class Example {
+
+        private String name;
+        private JsonObject data;
+
+        public String getName() {
+
+            return name;
+        }
+
+        public void setName(final String name) {
+
+            this.name = name;
+        }
+
+        public JsonObject getData() {
+
+            return data;
+        }
+
+        public void setData(final JsonObject data) {
+
+            this.data = data;
+        }
+    }
+}